@@ -0,0 +1,48 @@
+package datetool.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口<br>
+ * 在JMH命令行参数的基础上，默认开启GC分析器（输出每次操作的内存分配量），并将结果输出为JSON文件，便于版本间对比。
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar                  运行全部基准
+ * java -jar target/benchmarks.jar Parse            只运行类名匹配Parse的基准
+ * java -jar target/benchmarks.jar -rff result.json 指定结果文件
+ * java -jar target/benchmarks.jar -jvmArgsAppend "-Duser.timezone=Asia/Shanghai -Ddatetool.calendarPool=striped"
+ *                                                  指定Calendar池模式（thread_local、striped、none）
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * 默认结果文件
+	 */
+	private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		final CommandLineOptions cmd = new CommandLineOptions(args);
+		final OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(cmd);
+		if (cmd.getIncludes().isEmpty()) {
+			builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+		}
+		builder.addProfiler(GCProfiler.class);
+		if (!cmd.getResult().hasValue()) {
+			builder.result(DEFAULT_RESULT_FILE);
+		}
+		if (!cmd.getResultFormat().hasValue()) {
+			builder.resultFormat(ResultFormatType.JSON);
+		}
+		final Options options = builder.build();
+		new Runner(options).run();
+	}
+}
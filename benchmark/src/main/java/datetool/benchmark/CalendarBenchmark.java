@@ -0,0 +1,97 @@
+package datetool.benchmark;
+
+import datetool.DateUtil;
+import datetool.core.CalendarUtil;
+import datetool.core.DateTime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期取整基准：{@link CalendarUtil#beginOfDay(Calendar)}、{@link DateUtil#beginOfDay(Date)} 与 {@link CalendarUtil#beginOfDay(long, TimeZone)}，
+ * 以及{@link DateTime#getField(int)}及读取多个字段
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class CalendarBenchmark {
+
+	private static final long MILLIS = 1678854896789L;
+
+	private Date date;
+	private DateTime dateTime;
+	private TimeZone shanghai;
+	private TimeZone newYork;
+
+	@Setup
+	public void setup() {
+		date = new Date(MILLIS);
+		dateTime = new DateTime(MILLIS, TimeZone.getTimeZone("America/New_York"));
+		shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+		newYork = TimeZone.getTimeZone("America/New_York");
+	}
+
+	/**
+	 * 包含Calendar的创建，与调用方的实际使用方式一致
+	 */
+	@Benchmark
+	public Calendar calendarUtilBeginOfDay() {
+		return CalendarUtil.beginOfDay(CalendarUtil.calendar(MILLIS));
+	}
+
+	@Benchmark
+	public DateTime dateUtilBeginOfDay() {
+		return DateUtil.beginOfDay(date);
+	}
+
+	@Benchmark
+	public long beginOfDayMillis() {
+		return CalendarUtil.beginOfDay(MILLIS, shanghai);
+	}
+
+	@Benchmark
+	public long beginOfHourMillis() {
+		return CalendarUtil.beginOfHour(MILLIS, shanghai);
+	}
+
+	@Benchmark
+	public long beginOfMonthMillis() {
+		return CalendarUtil.beginOfMonth(MILLIS, shanghai);
+	}
+
+	/**
+	 * 有夏令时的时区
+	 */
+	@Benchmark
+	public long beginOfDayMillisDst() {
+		return CalendarUtil.beginOfDay(MILLIS, newYork);
+	}
+
+	@Benchmark
+	public int getField() {
+		return dateTime.getField(Calendar.HOUR_OF_DAY);
+	}
+
+	/**
+	 * 报表中逐行读取的字段，同一对象读取多个字段
+	 */
+	@Benchmark
+	public int readFields() {
+		return dateTime.year() + dateTime.month() + dateTime.dayOfMonth() + dateTime.hour(true) + dateTime.weekOfYear();
+	}
+
+	/**
+	 * 每行一个新的对象
+	 */
+	@Benchmark
+	public int readFieldsNewDateTime() {
+		final DateTime row = new DateTime(MILLIS, newYork);
+		return row.year() + row.month() + row.dayOfMonth() + row.hour(true) + row.weekOfYear();
+	}
+}
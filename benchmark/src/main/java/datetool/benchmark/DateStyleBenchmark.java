@@ -0,0 +1,67 @@
+package datetool.benchmark;
+
+import datetool.DateUtil;
+import datetool.core.DateTime;
+import datetool.core.enums.DateStyle;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DateStyle}格式化与解析基准，覆盖全部格式：{@link DateUtil#format(Date, DateStyle)}、{@link DateUtil#parse(CharSequence, DateStyle)}，
+ * 以及每次重新创建格式化器的对照组
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class DateStyleBenchmark {
+
+	/**
+	 * 2023-03-15 12:34:56.789 +08:00
+	 */
+	private static final long MILLIS = 1678854896789L;
+
+	@Param
+	public DateStyle style;
+
+	private Date date;
+	private String dateStr;
+
+	@Setup
+	public void setup() {
+		date = new Date(MILLIS);
+		dateStr = DateUtil.format(date, style);
+	}
+
+	@Benchmark
+	public String format() {
+		return DateUtil.format(date, style);
+	}
+
+	/**
+	 * 对照组：每次创建{@link DateTimeFormatter}
+	 */
+	@Benchmark
+	public String formatOfPattern() {
+		return DateTimeFormatter.ofPattern(style.getValue()).format(date.toInstant().atZone(ZoneId.systemDefault()));
+	}
+
+	@Benchmark
+	public DateTime parse() {
+		return DateUtil.parse(dateStr, style);
+	}
+
+	/**
+	 * 对照组：按格式字符串解析，每次创建SimpleDateFormat
+	 */
+	@Benchmark
+	public DateTime parsePattern() {
+		return DateUtil.parse(dateStr, style.getValue());
+	}
+}
@@ -0,0 +1,161 @@
+package datetool.benchmark;
+
+import datetool.DateUtil;
+import datetool.core.DatePattern;
+import datetool.core.DateTime;
+import datetool.core.format.CachedDatePrinter;
+import datetool.core.format.FastDatePrinter;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式化基准：{@link DateUtil#format(Date, String)} 与 {@link FastDatePrinter#format(long)}（直接计算字段与经由Calendar两种方式），
+ * 以及批量格式化{@link FastDatePrinter#formatAll(long[], int, int, Appendable, char)}、{@link FastDatePrinter#formatInto(long, char[], int)}
+ * 和{@link FastDatePrinter#formatTo(long, ByteBuffer)}，以及按秒缓存的{@link CachedDatePrinter}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+
+	/**
+	 * 2023-03-15 12:34:56.789 +08:00
+	 */
+	private static final long MILLIS = 1678854896789L;
+	private static final int BATCH = 1000;
+
+	private Date date;
+	private DateTime dateTime;
+	private FastDatePrinter printer;
+	/**
+	 * 按秒递增的一批时间，模拟导出数据
+	 */
+	private long[] batch;
+	private StringBuilder out;
+	private char[] chars;
+	private ByteBuffer bytes;
+	private FastDatePrinter msPrinter;
+	private CachedDatePrinter cachedPrinter;
+	/**
+	 * 每次调用递增1毫秒，模拟日志时间戳
+	 */
+	private long tick;
+
+	@Setup
+	public void setup() {
+		date = new Date(MILLIS);
+		dateTime = new DateTime(MILLIS);
+		printer = new FastDatePrinter(DatePattern.NORM_DATETIME_PATTERN, TimeZone.getDefault(), Locale.getDefault());
+		batch = new long[BATCH];
+		for (int i = 0; i < BATCH; i++) {
+			batch[i] = MILLIS + i * 1000L;
+		}
+		out = new StringBuilder(BATCH * 20);
+		chars = new char[BATCH * 20];
+		bytes = ByteBuffer.allocateDirect(BATCH * 20);
+		msPrinter = new FastDatePrinter(DatePattern.NORM_DATETIME_MS_PATTERN, TimeZone.getDefault(), Locale.getDefault());
+		cachedPrinter = new CachedDatePrinter(DatePattern.NORM_DATETIME_MS_PATTERN, TimeZone.getDefault(), Locale.getDefault());
+		tick = MILLIS;
+	}
+
+	@Benchmark
+	public String dateUtilFormatDate() {
+		return DateUtil.format(date, DatePattern.NORM_DATETIME_PATTERN);
+	}
+
+	@Benchmark
+	public String dateUtilFormatDateTime() {
+		return DateUtil.format(dateTime, DatePattern.NORM_DATETIME_PATTERN);
+	}
+
+	@Benchmark
+	public String fastDatePrinterFormatLong() {
+		return printer.format(MILLIS);
+	}
+
+	/**
+	 * 对照组：经由Calendar计算各字段
+	 */
+	@Benchmark
+	public String fastDatePrinterFormatLongByCalendar() {
+		return printer.formatByCalendar(MILLIS);
+	}
+
+	/**
+	 * 对照组：逐个格式化为字符串后写入
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int formatEach() {
+		out.setLength(0);
+		for (long millis : batch) {
+			out.append(printer.format(millis)).append('\n');
+		}
+		return out.length();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int formatAll() {
+		out.setLength(0);
+		return printer.formatAll(batch, 0, BATCH, out, '\n').length();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int formatInto() {
+		int position = 0;
+		for (long millis : batch) {
+			position = printer.formatInto(millis, chars, position);
+			chars[position++] = '\n';
+		}
+		return position;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int formatTo() {
+		bytes.clear();
+		for (long millis : batch) {
+			printer.formatTo(millis, bytes);
+			bytes.put((byte) '\n');
+		}
+		return bytes.position();
+	}
+
+	/**
+	 * 对照组：格式化为字符串后编码
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int formatEachToBytes() {
+		bytes.clear();
+		for (long millis : batch) {
+			bytes.put(printer.format(millis).getBytes(StandardCharsets.UTF_8));
+			bytes.put((byte) '\n');
+		}
+		return bytes.position();
+	}
+
+	/**
+	 * 对照组：不缓存
+	 */
+	@Benchmark
+	public String formatLogTimestamp() {
+		return msPrinter.format(tick++);
+	}
+
+	@Benchmark
+	public String formatLogTimestampCached() {
+		return cachedPrinter.format(tick++);
+	}
+}
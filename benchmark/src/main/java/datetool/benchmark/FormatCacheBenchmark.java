@@ -0,0 +1,63 @@
+package datetool.benchmark;
+
+import datetool.core.DatePattern;
+import datetool.core.format.FastDateFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 格式化器缓存基准：重复调用{@link FastDateFormat#getInstance(String)}应命中缓存，返回同一实例，耗时不随调用次数增长<br>
+ * 命中缓存时不分配内存（0 B/op），使用默认时区的调用按{@link datetool.core.format.DefaultTimeZone}的快照查询，不复制默认时区
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class FormatCacheBenchmark {
+
+	private TimeZone timeZone;
+	private Locale locale;
+	private FastDateFormat expected;
+
+	@Setup
+	public void setup() {
+		timeZone = TimeZone.getTimeZone("Asia/Shanghai");
+		locale = Locale.getDefault();
+		expected = FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN);
+		if (expected != FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN)
+				|| expected != FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN, timeZone, locale)) {
+			throw new IllegalStateException("FastDateFormat.getInstance does not hit the cache");
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		// 测量期间不应创建新的实例
+		if (expected != FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN)) {
+			throw new IllegalStateException("FastDateFormat cache entry was replaced");
+		}
+	}
+
+	@Benchmark
+	public FastDateFormat getInstance() {
+		return FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN);
+	}
+
+	@Benchmark
+	public FastDateFormat getInstanceWithZone() {
+		return FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN, timeZone, locale);
+	}
+
+	/**
+	 * 格式字符串为新的对象，需按值比较
+	 */
+	@Benchmark
+	public FastDateFormat getInstanceNewPattern() {
+		return FastDateFormat.getInstance(new String(DatePattern.NORM_DATETIME_PATTERN), timeZone, locale);
+	}
+}
@@ -0,0 +1,59 @@
+package datetool.benchmark;
+
+import datetool.core.DatePattern;
+import datetool.core.format.HttpDateCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP日期基准：{@link HttpDateCache}的格式化与解析，对照组为{@link DatePattern#HTTP_DATETIME_FORMAT}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class HttpDateBenchmark {
+
+	private static final String HTTP_DATE = "Wed, 15 Mar 2023 04:34:56 GMT";
+
+	private HttpDateCache cache;
+	/**
+	 * 每次调用递增1毫秒，模拟响应头的Date
+	 */
+	private long tick;
+
+	@Setup
+	public void setup() {
+		cache = HttpDateCache.getInstance();
+		tick = 1678854896789L;
+	}
+
+	/**
+	 * 对照组：每次格式化
+	 */
+	@Benchmark
+	public String formatHttpDate() {
+		return DatePattern.HTTP_DATETIME_FORMAT.format(tick++);
+	}
+
+	@Benchmark
+	public String formatHttpDateCached() {
+		return cache.format(tick++);
+	}
+
+	/**
+	 * 对照组：FastDateFormat解析
+	 */
+	@Benchmark
+	public long parseHttpDate() {
+		return DatePattern.HTTP_DATETIME_FORMAT.tryParse(HTTP_DATE, false);
+	}
+
+	@Benchmark
+	public long parseHttpDateCached() {
+		return cache.parse(HTTP_DATE);
+	}
+}
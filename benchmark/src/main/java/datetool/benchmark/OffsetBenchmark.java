@@ -0,0 +1,67 @@
+package datetool.benchmark;
+
+import datetool.core.DateTime;
+import datetool.core.enums.DateField;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期偏移基准：{@link DateTime#offset(DateField, int)} 与 {@link DateTime#offsetNew(DateField, int)}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Thread)
+public class OffsetBenchmark {
+
+	private static final long MILLIS = 1678854896789L;
+	private static final int LOOP = 1000;
+
+	@Param({"MINUTE", "HOUR_OF_DAY", "DAY_OF_YEAR", "WEEK_OF_YEAR", "MONTH"})
+	public DateField field;
+
+	private DateTime mutable;
+	private DateTime immutable;
+
+	@Setup
+	public void setup() {
+		mutable = new DateTime(MILLIS);
+		immutable = new DateTime(MILLIS).setMutable(false);
+	}
+
+	/**
+	 * 可变对象原地偏移
+	 */
+	@Benchmark
+	public DateTime offsetMutable() {
+		return mutable.offset(field, 1);
+	}
+
+	/**
+	 * 不可变对象偏移，每次产生新对象
+	 */
+	@Benchmark
+	public DateTime offsetImmutable() {
+		return immutable.offset(field, 1);
+	}
+
+	@Benchmark
+	public DateTime offsetNew() {
+		return immutable.offsetNew(field, 1);
+	}
+
+	/**
+	 * 批量排期场景：循环中对同一基准时间依次偏移
+	 */
+	@Benchmark
+	@OperationsPerInvocation(LOOP)
+	public void offsetNewLoop(Blackhole blackhole) {
+		for (int i = 0; i < LOOP; i++) {
+			blackhole.consume(immutable.offsetNew(field, i));
+		}
+	}
+}
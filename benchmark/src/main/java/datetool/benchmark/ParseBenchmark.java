@@ -0,0 +1,192 @@
+package datetool.benchmark;
+
+import datetool.DateUtil;
+import datetool.core.DateException;
+import datetool.core.DatePattern;
+import datetool.core.DateTime;
+import datetool.core.format.FastDateFormat;
+import datetool.core.format.FastDateParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期解析基准：{@link DateUtil#parse(CharSequence)} 自动识别格式、{@link FastDateParser#parse(String)} 与 {@link FastDateFormat#parse(String)}，
+ * 以及批量解析{@link FastDateParser#parseAll(List, long[], BitSet)}、字节解析{@link FastDateFormat#parse(byte[], int, int)}、
+ * 无异常解析{@link FastDateFormat#tryParse(CharSequence)}及多格式解析{@link DateUtil#parse(String, String...)}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class ParseBenchmark {
+
+	private static final String[] PATTERNS = {DatePattern.PURE_DATETIME_PATTERN, DatePattern.NORM_DATE_PATTERN, "yyyy/MM/dd HH:mm:ss",
+			DatePattern.NORM_DATETIME_MS_PATTERN, DatePattern.CHINESE_DATE_PATTERN, DatePattern.NORM_DATETIME_PATTERN};
+
+	private FastDateParser parser;
+	private FastDateParser monthNameParser;
+	private String normDateTimeStr;
+	private byte[] normDateTimeBytes;
+	private String invalidStr;
+
+	@Setup
+	public void setup() {
+		parser = new FastDateParser(DatePattern.NORM_DATETIME_PATTERN, TimeZone.getDefault(), Locale.getDefault());
+		monthNameParser = new FastDateParser("MMM dd, yyyy", TimeZone.getDefault(), Locale.US);
+		normDateTimeStr = "2023-03-15 12:34:56";
+		normDateTimeBytes = normDateTimeStr.getBytes(StandardCharsets.US_ASCII);
+		invalidStr = "2023/03/15 12:34:56";
+	}
+
+	@Benchmark
+	public DateTime dateUtilParse(Input input) {
+		return DateUtil.parse(input.dateStr);
+	}
+
+	@Benchmark
+	public Date fastDateParserParse() throws ParseException {
+		return parser.parse(normDateTimeStr);
+	}
+
+	/**
+	 * 定长格式，{@link FastDateFormat}自动使用定长解析器
+	 */
+	@Benchmark
+	public Date fastDateFormatParse() throws ParseException {
+		return DatePattern.NORM_DATETIME_FORMAT.parse(normDateTimeStr);
+	}
+
+	/**
+	 * 月份名称
+	 */
+	@Benchmark
+	public Date parseMonthName() throws ParseException {
+		return monthNameParser.parse("Mar 15, 2023");
+	}
+
+	/**
+	 * 星期、月份及时区名称
+	 */
+	@Benchmark
+	public DateTime dateUtilParseCST() {
+		return DateUtil.parseCST("Wed Mar 15 12:34:56 CST 2023");
+	}
+
+	/**
+	 * 直接读取字节
+	 */
+	@Benchmark
+	public long fastDateFormatParseBytes() throws ParseException {
+		return DatePattern.NORM_DATETIME_FORMAT.parse(normDateTimeBytes, 0, normDateTimeBytes.length);
+	}
+
+	/**
+	 * 对照组：先解码为字符串
+	 */
+	@Benchmark
+	public long fastDateFormatParseDecoded() throws ParseException {
+		return DatePattern.NORM_DATETIME_FORMAT.parse(new String(normDateTimeBytes, 0, normDateTimeBytes.length, StandardCharsets.US_ASCII)).getTime();
+	}
+
+	/**
+	 * 多个格式逐个尝试，匹配的格式在最后
+	 */
+	@Benchmark
+	public DateTime dateUtilParsePatterns() {
+		return DateUtil.parse(normDateTimeStr, PATTERNS);
+	}
+
+	/**
+	 * 无法解析的输入，捕获异常
+	 */
+	@Benchmark
+	public long parseInvalidCatch() {
+		try {
+			return DateUtil.parse(invalidStr, DatePattern.NORM_DATETIME_FORMAT).getTime();
+		} catch (DateException e) {
+			return Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * 无法解析的输入，不抛出异常
+	 */
+	@Benchmark
+	public long tryParseInvalid() {
+		return DatePattern.NORM_DATETIME_FORMAT.tryParse(invalidStr);
+	}
+
+	/**
+	 * 对照组：逐个解析为{@link DateTime}
+	 */
+	@Benchmark
+	@OperationsPerInvocation(Batch.SIZE)
+	public long dateUtilParseEach(Batch batch) {
+		long sum = 0;
+		for (String source : batch.sources) {
+			sum += DateUtil.parse(source, DatePattern.NORM_DATETIME_FORMAT).getTime();
+		}
+		return sum;
+	}
+
+	/**
+	 * 按正则逐字段解析，整批共用一个Calendar
+	 */
+	@Benchmark
+	@OperationsPerInvocation(Batch.SIZE)
+	public int fastDateParserParseAll(Batch batch) {
+		return parser.parseAll(batch.sources, batch.result, batch.failed);
+	}
+
+	/**
+	 * 定长格式的快速解析
+	 */
+	@Benchmark
+	@OperationsPerInvocation(Batch.SIZE)
+	public int fastDateFormatParseAll(Batch batch) {
+		return DatePattern.NORM_DATETIME_FORMAT.parseAll(batch.sources, batch.result, batch.failed);
+	}
+
+	/**
+	 * 批量解析的输入，按秒递增的一批时间
+	 */
+	@State(Scope.Benchmark)
+	public static class Batch {
+		static final int SIZE = 1000;
+
+		List<String> sources;
+		long[] result;
+		BitSet failed;
+
+		@Setup
+		public void setup() {
+			sources = new ArrayList<>(SIZE);
+			final long millis = DateUtil.parse("2023-03-15 12:34:56", DatePattern.NORM_DATETIME_FORMAT).getTime();
+			for (int i = 0; i < SIZE; i++) {
+				sources.add(DatePattern.NORM_DATETIME_FORMAT.format(millis + i * 1000L));
+			}
+			result = new long[SIZE];
+			failed = new BitSet(SIZE);
+		}
+	}
+
+	/**
+	 * 自动识别格式的输入，仅作用于{@link #dateUtilParse(Input)}
+	 */
+	@State(Scope.Benchmark)
+	public static class Input {
+		@Param({"2023-03-15 12:34:56", "2023-03-15T12:34:56.789Z", "20230315123456", "2023/03/15 12:34:56", "2023年03月15日 12时34分56秒"})
+		public String dateStr;
+	}
+}
@@ -0,0 +1,74 @@
+package datetool.benchmark;
+
+import datetool.DateUtil;
+import datetool.core.DateRange;
+import datetool.core.DateTime;
+import datetool.core.enums.DateField;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期范围基准：{@link DateUtil#rangeToList(Date, Date, DateField)}、{@link DateUtil#rangeToMillis(Date, Date, DateField, int)}及{@link DateRange#stream()}
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class RangeBenchmark {
+
+	/**
+	 * 一天按分钟步进（1441个元素）；一个月按小时步进（721个元素）；两年按天步进（731个元素）；24年按月步进（288个元素）
+	 */
+	@Param({"MINUTE", "HOUR_OF_DAY", "DAY_OF_MONTH", "MONTH"})
+	public DateField unit;
+
+	private Date start;
+	private Date end;
+
+	@Setup
+	public void setup() {
+		switch (unit) {
+			case MINUTE:
+				start = DateUtil.parse("2023-03-01 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				end = DateUtil.parse("2023-03-02 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				break;
+			case HOUR_OF_DAY:
+				start = DateUtil.parse("2023-03-01 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				end = DateUtil.parse("2023-03-31 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				break;
+			case DAY_OF_MONTH:
+				start = DateUtil.parse("2023-01-01 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				end = DateUtil.parse("2025-01-01 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				break;
+			default:
+				start = DateUtil.parse("2000-01-31 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				end = DateUtil.parse("2023-12-31 00:00:00", "yyyy-MM-dd HH:mm:ss");
+				break;
+		}
+	}
+
+	@Benchmark
+	public List<DateTime> rangeToList() {
+		return DateUtil.rangeToList(start, end, unit);
+	}
+
+	@Benchmark
+	public long[] rangeToMillis() {
+		return DateUtil.rangeToMillis(start, end, unit, 1);
+	}
+
+	@Benchmark
+	public long rangeToMillisStream() {
+		return DateUtil.rangeToMillisStream(start, end, unit, 1).sum();
+	}
+
+	@Benchmark
+	public long parallelStream() {
+		return new DateRange(start, end, unit).stream().parallel().mapToLong(Date::getTime).sum();
+	}
+}
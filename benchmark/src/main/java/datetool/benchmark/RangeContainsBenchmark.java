@@ -0,0 +1,59 @@
+package datetool.benchmark;
+
+import datetool.DateUtil;
+import datetool.core.DateRange;
+import datetool.core.DateTime;
+import datetool.core.enums.DateField;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期区间交集、差集基准：{@link DateUtil#rangeContains(DateRange, DateRange)}、
+ * {@link DateUtil#rangeNotContains(DateRange, DateRange)}及对应的流
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Duser.timezone=Asia/Shanghai")
+@State(Scope.Benchmark)
+public class RangeContainsBenchmark {
+
+	/**
+	 * 每个区间按分钟步进的元素个数，两个区间重叠一半
+	 */
+	@Param({"1000", "100000", "1000000"})
+	public int size;
+
+	private DateRange start;
+	private DateRange end;
+
+	@Setup
+	public void setup() {
+		final long millis = DateUtil.parse("2023-01-01 00:00:00", "yyyy-MM-dd HH:mm:ss").getTime();
+		final long minute = 60 * 1000L;
+		start = new DateRange(new Date(millis), new Date(millis + (size - 1) * minute), DateField.MINUTE);
+		end = new DateRange(new Date(millis + size / 2 * minute), new Date(millis + (size / 2 + size - 1) * minute), DateField.MINUTE);
+	}
+
+	@Benchmark
+	public List<DateTime> rangeContains() {
+		return DateUtil.rangeContains(start, end);
+	}
+
+	@Benchmark
+	public List<DateTime> rangeNotContains() {
+		return DateUtil.rangeNotContains(start, end);
+	}
+
+	/**
+	 * 流式处理，不生成结果列表
+	 */
+	@Benchmark
+	public long rangeContainsStream() {
+		return DateUtil.rangeContainsStream(start, end).count();
+	}
+}
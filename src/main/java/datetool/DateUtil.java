@@ -5,6 +5,7 @@ import datetool.core.enums.*;
 import datetool.core.format.*;
 
 import java.text.DateFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.SimpleDateFormat;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
@@ -13,12 +14,13 @@ import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalField;
 import java.time.temporal.UnsupportedTemporalTypeException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 时间工具类
@@ -38,6 +40,15 @@ public class DateUtil extends CalendarUtil {
             "gmt", "ut", "utc", "est", "edt", "cst", "cdt", "mst", "mdt", "pst", "pdt"// 时间标准
     };
 
+    /**
+     * 格式是否可以使用{@link FastDateFormat}格式化，见{@link #isFastFormatPattern(String)}
+     */
+    private static final FormatCache<String, Boolean> FAST_FORMAT_PATTERNS = new FormatCache<>(256);
+    /**
+     * 地区的数字是否为ASCII数字，{@link FastDateFormat}只输出ASCII数字
+     */
+    private static final FormatCache<Locale, Boolean> ASCII_DIGIT_LOCALES = new FormatCache<>(64);
+
     /**
      * 当前时间，转换为{@link DateTime}对象
      *
@@ -493,11 +504,37 @@ public class DateUtil extends CalendarUtil {
         if (null == date || result) {
             return null;
         }
+
+        // 检查自定义格式
+        if (GlobalCustomFormat.isCustomFormat(format)) {
+            return GlobalCustomFormat.format(date, format);
+        }
+
         TimeZone timeZone = null;
         if (date instanceof DateTime) {
             timeZone = ((DateTime) date).getTimeZone();
         }
-        return format(date, newSimpleFormat(format, null, timeZone));
+        return format(date, format, timeZone);
+    }
+
+    /**
+     * 根据特定格式格式化日期，使用缓存的{@link FastDateFormat}<br>
+     * 结果与{@link SimpleDateFormat}不同或{@link FastDateFormat}不支持的格式（如独立月份名称L），使用{@link SimpleDateFormat}
+     *
+     * @param date     被格式化的日期
+     * @param format   日期格式，常用格式见： {@link DatePattern}
+     * @param timeZone 时区，{@code null}表示默认时区
+     * @return 格式化后的字符串
+     */
+    public static String format(Date date, String format, TimeZone timeZone) {
+        if (null == date) {
+            return null;
+        }
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (isFastFormat(format, locale)) {
+            return FastDateFormat.getInstance(format, timeZone, locale).format(date);
+        }
+        return format(date, newSimpleFormat(format, locale, timeZone));
     }
 
     /**
@@ -566,34 +603,8 @@ public class DateUtil extends CalendarUtil {
         if (null == format || null == date) {
             return null;
         }
-        // java.time.temporal.UnsupportedTemporalTypeException: Unsupported field: YearOfEra
-        // 出现以上报错时，表示Instant时间戳没有时区信息，赋予默认时区
-        Instant time = date.toInstant();
-        String format1 = format.getValue();
-        if (null == time) {
-            return null;
-        }
-        boolean isBlank = true;
-        // 判断的时候，并将cs的长度赋给了strLen
-        if (format1 != null && ((CharSequence) format1).length() != 0) {// 遍历字符
-            for (int i = 0; i < ((CharSequence) format1).length(); i++) {
-                if (!Character.isWhitespace(((CharSequence) format1).charAt(i))) {
-                    isBlank = false;
-                    break;
-                }
-            }
-        }
-        DateTimeFormatter formatter1 = isBlank
-                ? null : DateTimeFormatter.ofPattern(format1);
-        if(null == formatter1){
-            formatter1 = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        }
-        try {
-            return formatter1.format(time);
-        } catch (UnsupportedTemporalTypeException e){
-            // 时间戳没有时区信息，赋予默认时区
-            return formatter1.format(time.atZone(ZoneId.systemDefault()));
-        }
+        // Instant时间戳没有时区信息，赋予默认时区
+        return format.getFormatter().format(date.toInstant().atZone(ZoneId.systemDefault()));
     }
 
     /**
@@ -650,7 +661,19 @@ public class DateUtil extends CalendarUtil {
         if (null == date) {
             return null;
         }
-        return DatePattern.HTTP_DATETIME_FORMAT.format(date);
+        return HttpDateCache.getInstance().format(date.getTime());
+    }
+
+    /**
+     * 格式化为Http的标准日期格式，同一秒内的结果使用缓存<br>
+     * 标准日期格式遵循RFC 1123规范，格式类似于：Fri, 31 Dec 1999 23:59:59 GMT
+     *
+     * @param millis 毫秒数
+     * @return HTTP标准形式日期字符串
+     * @see HttpDateCache
+     */
+    public static String formatHttpDate(long millis) {
+        return HttpDateCache.getInstance().format(millis);
     }
 
     /**
@@ -681,10 +704,17 @@ public class DateUtil extends CalendarUtil {
      * 构建DateTime对象
      *
      * @param dateStr   Date字符串
-     * @param dateStyle 格式化器 {@link SimpleDateFormat}
+     * @param dateStyle 日期格式 {@link DateStyle}
      * @return DateTime对象
+     * @throws DateException 日期字符串与格式不匹配或字段越界
      */
     public static DateTime parse(CharSequence dateStr, DateStyle dateStyle) {
+        final FastDateFormat format = dateStyle.getFastDateFormat();
+        final long millis = format.tryParse(dateStr, false);
+        if (Long.MIN_VALUE != millis) {
+            return new DateTime(millis, format.getTimeZone());
+        }
+        // 快速解析失败时按非宽容的SimpleDateFormat解析，接受的输入和抛出的异常与其一致（如数字字段中的"-0"）
         return parse(dateStr, dateStyle.getValue());
     }
 
@@ -749,7 +779,8 @@ public class DateUtil extends CalendarUtil {
 
     /**
      * 通过给定的日期格式解析日期时间字符串。<br>
-     * 传入的日期格式会逐个尝试，直到解析成功，返回{@link DateTime}对象，否则抛出{@link DateException}异常。
+     * 传入的日期格式会逐个尝试，直到解析成功，返回{@link DateTime}对象，否则抛出{@link DateException}异常。<br>
+     * 同一组格式的解析器会被缓存，并按输入的长度和字符特征跳过不可能匹配的格式，见{@link MultiPatternParser}。
      *
      * @param str           日期时间字符串，非空
      * @param parsePatterns 需要尝试的日期时间格式数组，非空, 见SimpleDateFormat
@@ -759,7 +790,67 @@ public class DateUtil extends CalendarUtil {
      * @since 5.3.11
      */
     public static DateTime parse(String str, String... parsePatterns) throws DateException {
-        return new DateTime(CalendarUtil.parseByPatterns(str, parsePatterns));
+        if (str == null || parsePatterns == null) {
+            throw new IllegalArgumentException("Date and Patterns must not be null");
+        }
+        return MultiPatternParser.getInstance(null, null, parsePatterns).parse(str, true).map(DateTime::new)
+                .orElseThrow(() -> new DateException("Unable to parse the date: {}", str));
+    }
+
+    /**
+     * 尝试使用指定{@link DateParser}解析日期字符串，规则与{@link #parse(CharSequence, DateParser)}相同，解析失败时不抛出异常
+     *
+     * @param dateStr 日期字符串，可以为{@code null}
+     * @param parser  格式化器,{@link FastDateFormat}
+     * @return DateTime对象，时区为parser的时区，解析失败返回{@link Optional#empty()}
+     */
+    public static Optional<DateTime> tryParse(CharSequence dateStr, DateParser parser) {
+        final long millis = parser.tryParse(dateStr);
+        return Long.MIN_VALUE == millis ? Optional.empty() : Optional.of(new DateTime(millis, parser.getTimeZone()));
+    }
+
+    /**
+     * 尝试将特定格式的日期字符串解析为{@link DateTime}，解析失败时不抛出异常<br>
+     * 与{@link #parse(CharSequence, String)}相同，按非宽容模式解析，字段越界（如2月30日）视为失败，
+     * 解析使用{@link FastDateFormat}的缓存实例，无需每次创建{@link SimpleDateFormat}
+     *
+     * @param dateStr 日期字符串，可以为{@code null}
+     * @param format  格式，例如yyyy-MM-dd，支持{@link GlobalCustomFormat}中的自定义格式
+     * @return DateTime对象，解析失败返回{@link Optional#empty()}
+     */
+    public static Optional<DateTime> tryParse(CharSequence dateStr, String format) {
+        if (null == dateStr) {
+            return Optional.empty();
+        }
+        if (GlobalCustomFormat.isCustomParseFormat(format)) {
+            // 自定义解析函数的失败方式未知
+            try {
+                return Optional.ofNullable(GlobalCustomFormat.parse(dateStr, format)).map(DateTime::new);
+            } catch (RuntimeException e) {
+                return Optional.empty();
+            }
+        }
+        final long millis = FastDateFormat.getInstance(format).tryParse(dateStr, false);
+        return Long.MIN_VALUE == millis ? Optional.empty() : Optional.of(new DateTime(millis));
+    }
+
+    /**
+     * 尝试通过给定的日期格式解析日期时间字符串，格式逐个尝试，规则与{@link #parse(String, String...)}相同，
+     * 所有格式都不匹配时返回{@link Optional#empty()}，不抛出异常
+     *
+     * @param str           日期时间字符串，可以为{@code null}
+     * @param parsePatterns 需要尝试的日期时间格式数组，非空, 见SimpleDateFormat
+     * @return 解析后的DateTime
+     * @throws IllegalArgumentException 格式数组为{@code null}
+     */
+    public static Optional<DateTime> tryParse(String str, String... parsePatterns) {
+        if (null == str) {
+            return Optional.empty();
+        }
+        if (null == parsePatterns) {
+            throw new IllegalArgumentException("Patterns must not be null");
+        }
+        return MultiPatternParser.getInstance(null, null, parsePatterns).parse(str, true).map(DateTime::new);
     }
 
     /**
@@ -918,10 +1009,7 @@ public class DateUtil extends CalendarUtil {
                 return parse(utcString, DatePattern.UTC_WITH_XXX_OFFSET_FORMAT);
             }
         } else {
-            boolean contains;
-            final Pattern pattern = new ConcurrentHashMap<RegexWithFlag, Pattern>().computeIfAbsent(new RegexWithFlag("-\\d{2}:?00", Pattern.DOTALL), (key) -> Pattern.compile("-\\d{2}:?00", Pattern.DOTALL));
-            contains = pattern.matcher(utcString).find();
-            if (contains) {
+            if (containsNegativeOffset(utcString)) {
                 // Issue#2612，类似 2022-09-14T23:59:00-08:00 或者 2022-09-14T23:59:00-0800
 
                 // 去除类似2019-06-01T19:45:43 -08:00加号前的空格
@@ -957,6 +1045,30 @@ public class DateUtil extends CalendarUtil {
     }
 
 
+    /**
+     * 解析Http的标准日期，用于If-Modified-Since等请求头，格式：<br>
+     * <ol>
+     * <li>EEE, dd MMM yyyy HH:mm:ss z（例如：Sun, 06 Nov 1994 08:49:37 GMT）</li>
+     * <li>EEEE, dd-MMM-yy HH:mm:ss zzz（例如：Sunday, 06-Nov-94 08:49:37 GMT）</li>
+     * <li>EEE MMM d HH:mm:ss yyyy（例如：Sun Nov  6 08:49:37 1994）</li>
+     * </ol>
+     *
+     * @param httpDate HTTP日期字符串
+     * @return 日期对象，时区为GMT
+     * @throws DateException 无法解析
+     * @see HttpDateCache#parse(CharSequence)
+     */
+    public static DateTime parseHttpDate(CharSequence httpDate) {
+        if (httpDate == null) {
+            return null;
+        }
+        final long millis = HttpDateCache.getInstance().parse(httpDate);
+        if (Long.MIN_VALUE == millis) {
+            throw new DateException("Unable to parse the http date: {}", httpDate);
+        }
+        return new DateTime(millis, DatePattern.HTTP_DATETIME_FORMAT.getTimeZone());
+    }
+
     /**
      * 解析CST时间，格式：<br>
      * <ol>
@@ -1005,146 +1117,31 @@ public class DateUtil extends CalendarUtil {
      * @return 日期
      */
     public static DateTime parse(CharSequence dateCharSequence) {
-        boolean result1 = true;
-        // 判断的时候，并将cs的长度赋给了strLen
-        if (dateCharSequence != null && dateCharSequence.length() != 0) {// 遍历字符
-            for (int i2 = 0; i2 < dateCharSequence.length(); i2++) {
-                if (!Character.isWhitespace(dateCharSequence.charAt(i2))) {
-                    result1 = false;
-                    break;
-                }
-            }
-        }
-        if (result1) {
+        if (isBlankChars(dateCharSequence)) {
             return null;
         }
-        String dateStr = dateCharSequence.toString();
         // 去掉两边空格并去掉中文日期中的“日”和“秒”，以规范长度
-        String str = dateStr.trim();
-        char[] chars = new char[]{'日', '秒'};
-        final int len = str.length();
-        if (0 == len) {
-            dateStr = str;
-        } else {
-            dateStr = str.chars().filter(oneChar -> {
-                for (char aChar : chars) {
-                    if (oneChar == aChar) {
-                        return false;
-                    }
-                }
-                return true;
-            }).toString();
-        }
-        int length = dateStr.length();
-
-        boolean isNumber = false;
-        boolean finished = false;
-        boolean result = true;
-        // 判断的时候，并将cs的长度赋给了strLen
-        if (dateStr.length() != 0) {// 遍历字符
-            for (int i1 = 0; i1 < dateStr.length(); i1++) {
-                if (!Character.isWhitespace(dateStr.charAt(i1))) {
-                    result = false;
-                    break;
-                }
+        String dateStr = removeDayAndSecond(dateCharSequence.toString().trim());
+        final int length = dateStr.length();
+
+        // 单次遍历完成归类，避免正则匹配和中间对象的创建
+        boolean isNumber = length > 0;
+        boolean hasLetter = false;
+        boolean hasT = false;
+        for (int i = 0; i < length; i++) {
+            final char c = dateStr.charAt(i);
+            if (c >= '0' && c <= '9') {
+                continue;
             }
-        }
-        if (!result) {
-            char[] chars1 = dateStr.toCharArray();
-            int sz = chars1.length;
-            boolean hasExp = false;
-            boolean hasDecPoint = false;
-            boolean allowSigns = false;
-            boolean foundDigit = false;// deal with any possible sign up front
-            int start = (chars1[0] == '-' || chars1[0] == '+') ? 1 : 0;
-            if (sz > start + 1) {
-                if (chars1[start] == '0' && (chars1[start + 1] == 'x' || chars1[start + 1] == 'X')) {
-                    int i = start + 2;
-                    if (i == sz) {
-                        finished = true;// str == "0x"
-                    } else {// checking hex (it can't be anything else)
-                        for (; i < chars1.length; i++) {
-                            if ((chars1[i] < '0' || chars1[i] > '9') && (chars1[i] < 'a' || chars1[i] > 'f') && (chars1[i] < 'A' || chars1[i] > 'F')) {
-                                finished = true;
-                                break;
-                            }
-                        }
-                        if (!finished) {
-                            isNumber = true;
-                            finished = true;
-                        }
-                    }
-                }
-            }
-            if (!finished) {
-                sz--; // don't want to loop to the last char, check it afterwords
-// for type qualifiers
-                int i = start;// loop to the next to last char or to the last char if we need another digit to
-// make a valid number (e.g. chars[0..5] = "1234E")
-                while (i < sz || (i < sz + 1 && allowSigns && !foundDigit)) {
-                    if (chars1[i] >= '0' && chars1[i] <= '9') {
-                        foundDigit = true;
-                        allowSigns = false;
-
-                    } else if (chars1[i] == '.') {
-                        if (hasDecPoint || hasExp) {
-                            // two decimal points or dec in exponent
-                            finished = true;
-                            break;
-                        }
-                        hasDecPoint = true;
-                    } else if (chars1[i] == 'e' || chars1[i] == 'E') {
-                        // we've already taken care of hex.
-                        if (hasExp) {
-                            // two E's
-                            finished = true;
-                            break;
-                        }
-                        if (!foundDigit) {
-                            finished = true;
-                            break;
-                        }
-                        hasExp = true;
-                        allowSigns = true;
-                    } else if (chars1[i] == '+' || chars1[i] == '-') {
-                        if (!allowSigns) {
-                            finished = true;
-                            break;
-                        }
-                        allowSigns = false;
-                        foundDigit = false; // we need a digit after the E
-                    } else {
-                        finished = true;
-                        break;
-                    }
-                    i++;
-                }
-                if (!finished) {
-                    if (i < chars1.length) {
-                        if (chars1[i] >= '0' && chars1[i] <= '9') {
-                            // no type qualifier, OK
-                            isNumber = true;
-                        } else if (chars1[i] != 'e' && chars1[i] != 'E') {
-                            if (chars1[i] == '.') {
-                                // two decimal points or dec in exponent
-                                if (!hasDecPoint && !hasExp) {// single trailing decimal point after non-exponent is ok
-                                    isNumber = foundDigit;
-                                }
-                            } else if (!allowSigns && (chars1[i] == 'd' || chars1[i] == 'D' || chars1[i] == 'f' || chars1[i] == 'F')) {
-                                isNumber = foundDigit;
-                            } else if (chars1[i] == 'l' || chars1[i] == 'L') {
-                                // not allowing L with an exponent
-                                isNumber = foundDigit && !hasExp;
-                            } // last character is illegal
-
-                        }
-                    } else {// allowSigns is true iff the val ends in 'E'
-// found digit it to make sure weird stuff like '.' and '1E-' doesn't pass
-                        isNumber = !allowSigns && foundDigit;
-                    }
-                }
+            isNumber = false;
+            if (c == 'T') {
+                hasT = true;
+                hasLetter = true;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                hasLetter = true;
             }
         }
+
         if (isNumber) {
             // 纯数字形式
             if (length == DatePattern.PURE_DATETIME_PATTERN.length()) {
@@ -1156,37 +1153,28 @@ public class DateUtil extends CalendarUtil {
             } else if (length == DatePattern.PURE_TIME_PATTERN.length()) {
                 return parse(dateStr, DatePattern.PURE_TIME_FORMAT);
             }
-        } else {
-            if (Pattern.compile("\\d{1,2}:\\d{1,2}(:\\d{1,2})?").matcher(dateStr).matches()) {
-                // HH:mm:ss 或者 HH:mm 时间格式匹配单独解析
-                return parseTimeToday(dateStr);
-            } else if (Arrays.stream(wtb).anyMatch(dateStr::contains)) {
-                // JDK的Date对象toString默认格式，类似于：
-                // Tue Jun 4 16:25:15 +0800 2019
-                // Thu May 16 17:57:18 GMT+08:00 2019
-                // Wed Aug 01 00:00:00 CST 2012
-                return parseCST(dateStr);
-            } else if (dateStr.contains("T")) {
-                // UTC时间
-                return parseUTC(dateStr);
-            }
+        } else if (isTimeOnly(dateStr)) {
+            // HH:mm:ss 或者 HH:mm 时间格式匹配单独解析
+            return parseTimeToday(dateStr);
+        } else if (hasLetter && containsAnyIgnoreCase(dateStr, wtb)) {
+            // JDK的Date对象toString默认格式，类似于：
+            // Tue Jun 4 16:25:15 +0800 2019
+            // Thu May 16 17:57:18 GMT+08:00 2019
+            // Wed Aug 01 00:00:00 CST 2012
+            return parseCST(dateStr);
+        } else if (hasT) {
+            // UTC时间
+            return parseUTC(dateStr);
         }
 
         //标准日期格式（包括单个数字的日期时间）
         dateStr = normalize(dateStr);
-        boolean match = false;
-        // 提供null的字符串为不匹配
-        if (dateStr != null) {
-            match = DatePattern.REGEX_NORM.matcher(dateStr).matches();
-        }
-        if (match) {
+        if (isNormFormat(dateStr)) {
             int colonCount = 0;
-            if (((CharSequence) dateStr).length() != 0) {
-                int contentLength = ((CharSequence) dateStr).length();
-                for (int i = 0; i < contentLength; i++) {
-                    if (':' == ((CharSequence) dateStr).charAt(i)) {
-                        colonCount++;
-                    }
+            final int normLength = dateStr.length();
+            for (int i = 0; i < normLength; i++) {
+                if (':' == dateStr.charAt(i)) {
+                    colonCount++;
                 }
             }
             switch (colonCount) {
@@ -1199,17 +1187,10 @@ public class DateUtil extends CalendarUtil {
                 case 2:
                     final int indexOfDot = dateStr.indexOf('.');
                     if (indexOfDot > 0) {
-                        final int length1 = dateStr.length();
                         // yyyy-MM-dd HH:mm:ss.SSS 或者 yyyy-MM-dd HH:mm:ss.SSSSSS
-                        if (length1 - indexOfDot > 4) {
+                        if (normLength - indexOfDot > 4) {
                             // 类似yyyy-MM-dd HH:mm:ss.SSSSSS，采取截断操作
-                            int fromIndexInclude = 0;
-                            int toIndexExclude1 = indexOfDot + 4;
-                            int len1 = dateStr.length();
-                            if (toIndexExclude1 > len1) {
-                                toIndexExclude1 = len1;
-                            }
-                            dateStr =dateStr.substring(fromIndexInclude, toIndexExclude1);
+                            dateStr = dateStr.substring(0, indexOfDot + 4);
                         }
                         return parse(dateStr, DatePattern.NORM_DATETIME_MS_FORMAT);
                     }
@@ -1968,7 +1949,8 @@ public class DateUtil extends CalendarUtil {
     }
 
     /**
-     * 俩个时间区间取交集
+     * 俩个时间区间取交集<br>
+     * 区间均按时间升序排列，按毫秒数线性归并，返回start中同时存在于end的元素
      *
      * @param start 开始区间
      * @param end   结束区间
@@ -1977,31 +1959,12 @@ public class DateUtil extends CalendarUtil {
      * @since 5.7.21
      */
     public static List<DateTime> rangeContains(DateRange start, DateRange end) {
-        List<DateTime> startDateTimes;
-        ArrayList<DateTime> arrayList = new ArrayList<>();
-        if (null == start) {
-            startDateTimes = arrayList;
-        } else {
-            for (DateTime t : start) {
-                arrayList.add(t);
-            }
-            startDateTimes = arrayList;
-        }
-        List<DateTime> endDateTimes;
-        ArrayList<DateTime> arrayList1 = new ArrayList<>();
-        if (null == end) {
-            endDateTimes = arrayList1;
-        } else {
-            for (DateTime t : end) {
-                arrayList1.add(t);
-            }
-            endDateTimes = arrayList1;
-        }
-        return startDateTimes.stream().filter(endDateTimes::contains).collect(Collectors.toList());
+        return rangeContainsStream(start, end).collect(Collectors.toList());
     }
 
     /**
-     * 俩个时间区间取差集(end - start)
+     * 俩个时间区间取差集(end - start)<br>
+     * 区间均按时间升序排列，按毫秒数线性归并，返回end中不存在于start的元素
      *
      * @param start 开始区间
      * @param end   结束区间
@@ -2010,27 +1973,79 @@ public class DateUtil extends CalendarUtil {
      * @since 5.7.21
      */
     public static List<DateTime> rangeNotContains(DateRange start, DateRange end) {
-        List<DateTime> startDateTimes;
-        ArrayList<DateTime> arrayList = new ArrayList<>();
-        if (null == start) {
-            startDateTimes = arrayList;
-        } else {
-            for (DateTime t : start) {
-                arrayList.add(t);
-            }
-            startDateTimes = arrayList;
+        return rangeNotContainsStream(start, end).collect(Collectors.toList());
+    }
+
+    /**
+     * 俩个时间区间取交集，惰性求值，不生成中间列表
+     *
+     * @param start 开始区间
+     * @param end   结束区间
+     * @return start中同时存在于end的元素
+     * @see #rangeContains(DateRange, DateRange)
+     */
+    public static Stream<DateTime> rangeContainsStream(DateRange start, DateRange end) {
+        if (null == start || null == end) {
+            return Stream.empty();
         }
-        List<DateTime> endDateTimes;
-        ArrayList<DateTime> arrayList1 = new ArrayList<>();
+        return mergeStream(start, end, true);
+    }
+
+    /**
+     * 俩个时间区间取差集(end - start)，惰性求值，不生成中间列表
+     *
+     * @param start 开始区间
+     * @param end   结束区间
+     * @return end中不存在于start的元素
+     * @see #rangeNotContains(DateRange, DateRange)
+     */
+    public static Stream<DateTime> rangeNotContainsStream(DateRange start, DateRange end) {
         if (null == end) {
-            endDateTimes = arrayList1;
-        } else {
-            for (DateTime t : end) {
-                arrayList1.add(t);
-            }
-            endDateTimes = arrayList1;
+            return Stream.empty();
         }
-        return endDateTimes.stream().filter(item -> !startDateTimes.contains(item)).collect(Collectors.toList());
+        if (null == start) {
+            return end.stream();
+        }
+        return mergeStream(end, start, false);
+    }
+
+    /**
+     * 按毫秒数归并两个升序区间
+     *
+     * @param source 输出元素所在的区间
+     * @param other  用于比较的区间
+     * @param keep   保留存在于other中的元素（交集）还是不存在的元素（差集）
+     * @return 流
+     */
+    private static Stream<DateTime> mergeStream(DateRange source, DateRange other, boolean keep) {
+        final Iterator<DateTime> sourceIter = source.iterator();
+        final PrimitiveIterator.OfLong otherIter = other.millisStream().iterator();
+        final Spliterator<DateTime> spliterator = new Spliterators.AbstractSpliterator<DateTime>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL) {
+            // other中当前待比较的元素
+            private boolean hasOther = otherIter.hasNext();
+            private long otherMillis = hasOther ? otherIter.nextLong() : 0;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super DateTime> action) {
+                while (sourceIter.hasNext()) {
+                    final DateTime current = sourceIter.next();
+                    final long millis = current.getTime();
+                    while (hasOther && otherMillis < millis) {
+                        hasOther = otherIter.hasNext();
+                        if (hasOther) {
+                            otherMillis = otherIter.nextLong();
+                        }
+                    }
+                    if ((hasOther && otherMillis == millis) == keep) {
+                        action.accept(current);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
     }
 
     /**
@@ -2107,6 +2122,34 @@ public class DateUtil extends CalendarUtil {
         return arrayList;
     }
 
+    /**
+     * 根据步进单位和步进获取起始日期时间和结束日期时间之间各时间点的毫秒数<br>
+     * 固定长度的单位按毫秒数计算，月、年等按日历计算（季度可使用{@link DateField#MONTH}步进3），不创建{@link DateTime}对象
+     *
+     * @param start 起始日期时间（包括）
+     * @param end   结束日期时间（包括）
+     * @param unit  步进单位
+     * @param step  步进
+     * @return 毫秒数数组
+     */
+    public static long[] rangeToMillis(Date start, Date end, final DateField unit, int step) {
+        return new DateRange(start, end, unit, step).toMillis();
+    }
+
+    /**
+     * 根据步进单位和步进获取起始日期时间和结束日期时间之间各时间点的毫秒数流，惰性求值
+     *
+     * @param start 起始日期时间（包括）
+     * @param end   结束日期时间（包括）
+     * @param unit  步进单位
+     * @param step  步进
+     * @return 毫秒数流
+     * @see #rangeToMillis(Date, Date, DateField, int)
+     */
+    public static LongStream rangeToMillisStream(Date start, Date end, final DateField unit, int step) {
+        return new DateRange(start, end, unit, step).millisStream();
+    }
+
     /**
      * {@code null}安全的日期比较，{@code null}对象排在末尾
      *
@@ -2451,74 +2494,468 @@ public class DateUtil extends CalendarUtil {
      * @return 格式化后的日期字符串
      */
     private static String normalize(CharSequence dateStr) {
-        boolean result1 = true;
-        // 判断的时候，并将cs的长度赋给了strLen
-        if (dateStr != null && dateStr.length() != 0) {// 遍历字符
-            for (int i = 0; i < dateStr.length(); i++) {
-                if (!Character.isWhitespace(dateStr.charAt(i))) {
-                    result1 = false;
-                    break;
-                }
+        if (isBlankChars(dateStr)) {
+            return null == dateStr ? null : dateStr.toString();
+        }
+        final String str = dateStr.toString();
+        final int length = str.length();
+
+        // 日期时间分开处理，以空格分隔，每部分去除两边空白
+        int dateStart = -1, dateEnd = -1, timeStart = -1, timeEnd = -1;
+        int size = 0;
+        int i = 0;
+        while (i < length) {
+            int start = i;
+            while (i < length && str.charAt(i) != ' ') {
+                i++;
+            }
+            int end = i++;
+            while (start < end && str.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && str.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+            if (++size == 1) {
+                dateStart = start;
+                dateEnd = end;
+            } else if (size == 2) {
+                timeStart = start;
+                timeEnd = end;
+            } else {
+                // 非可被标准处理的格式
+                return str;
             }
         }
-        if (result1) {
-            return null == dateStr ? null : dateStr.toString();
+        if (size < 1) {
+            return str;
         }
 
-        // 日期时间分开处理
-        final List<String> dateAndTime = Arrays.stream(("" + dateStr).split(" "))
-                .map(String::trim)
-                .filter(str -> !"".equals(str))
-                .collect(Collectors.toList());
-        final int size = dateAndTime.size();
-        if (size < 1 || size > 2) {
-            // 非可被标准处理的格式
-            return dateStr.toString();
+        // 日期部分末尾的"日"去除
+        if ('日' == str.charAt(dateEnd - 1)) {
+            dateEnd--;
+        }
+        // 时间部分末尾的":"去除（不存在毫秒时）
+        if (size == 2 && ':' == normalizeTimeChar(str.charAt(timeEnd - 1), false)) {
+            timeEnd--;
         }
 
-        final StringBuilder builder = new StringBuilder();
+        // 已是标准格式时直接返回，避免创建新字符串
+        boolean changed = dateStart != 0 || (size == 1 ? dateEnd != length : (timeStart != dateEnd + 1 || timeEnd != length));
+        for (int j = dateStart; !changed && j < dateEnd; j++) {
+            final char c = str.charAt(j);
+            changed = normalizeDateChar(c) != c;
+        }
+        for (int j = timeStart; !changed && j < timeEnd; j++) {
+            final char c = str.charAt(j);
+            changed = normalizeTimeChar(c, true) != c;
+        }
+        if (!changed) {
+            return str;
+        }
 
-        // 日期部分（"\"、"/"、"."、"年"、"月"都替换为"-"）
-        String datePart = dateAndTime.get(0).replaceAll("[/.年月]", "-");
-        String result;
-        if (datePart.length() == 0) {
-            result = datePart;
-        } else {
-            if (datePart.endsWith("日")) {
-                int fromIndexInclude = 0;
-                int toIndexExclude1 = datePart.length() - 1;
-                if (fromIndexInclude == toIndexExclude1) {
-                    result = "";
-                } else {
-                    result =  datePart.substring(fromIndexInclude, toIndexExclude1);
+        final StringBuilder builder = new StringBuilder(length);
+        // 日期部分（"/"、"."、"年"、"月"都替换为"-"）
+        for (int j = dateStart; j < dateEnd; j++) {
+            builder.append(normalizeDateChar(str.charAt(j)));
+        }
+        // 时间部分（"时"、"分"、"秒"都替换为":"，ISO8601中的逗号替换为"."）
+        if (size == 2) {
+            builder.append(' ');
+            for (int j = timeStart; j < timeEnd; j++) {
+                builder.append(normalizeTimeChar(str.charAt(j), true));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 标准化日期部分的单个字符，"/"、"."、"年"、"月"替换为"-"
+     *
+     * @param c 字符
+     * @return 标准化后的字符
+     */
+    private static char normalizeDateChar(char c) {
+        switch (c) {
+            case '/':
+            case '.':
+            case '年':
+            case '月':
+                return '-';
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * 标准化时间部分的单个字符，"时"、"分"、"秒"替换为":"
+     *
+     * @param c     字符
+     * @param comma 是否将ISO8601中的逗号替换为"."
+     * @return 标准化后的字符
+     */
+    private static char normalizeTimeChar(char c, boolean comma) {
+        switch (c) {
+            case '时':
+            case '分':
+            case '秒':
+                return ':';
+            case ',':
+                return comma ? '.' : c;
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * 去除字符串中的“日”和“秒”，不包含时返回原字符串
+     *
+     * @param str 字符串
+     * @return 去除后的字符串
+     */
+    private static String removeDayAndSecond(String str) {
+        if (str.indexOf('日') < 0 && str.indexOf('秒') < 0) {
+            return str;
+        }
+        final int length = str.length();
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            final char c = str.charAt(i);
+            if (c != '日' && c != '秒') {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 使用给定格式和地区时，{@link FastDateFormat}的输出是否与{@link SimpleDateFormat}一致，结果按格式和地区缓存
+     *
+     * @param pattern 日期格式
+     * @param locale  地区
+     * @return 是否可以使用{@link FastDateFormat}
+     */
+    private static boolean isFastFormat(String pattern, Locale locale) {
+        Boolean fast = FAST_FORMAT_PATTERNS.get(pattern);
+        if (null == fast) {
+            fast = isFastFormatPattern(pattern);
+            FAST_FORMAT_PATTERNS.putIfAbsent(pattern, fast);
+        }
+        if (!fast) {
+            return false;
+        }
+        Boolean asciiDigits = ASCII_DIGIT_LOCALES.get(locale);
+        if (null == asciiDigits) {
+            asciiDigits = '0' == DecimalFormatSymbols.getInstance(locale).getZeroDigit();
+            ASCII_DIGIT_LOCALES.putIfAbsent(locale, asciiDigits);
+        }
+        return asciiDigits;
+    }
+
+    /**
+     * 格式中各字段在{@link FastDateFormat}中的输出是否与{@link SimpleDateFormat}一致，以下情况不一致：
+     * <ul>
+     *     <li>文本字段G、E、a、z及三位以上的M，{@link SimpleDateFormat}会按地区使用独立形式等</li>
+     *     <li>两位以上的Z，{@link FastDateFormat}输出带冒号的偏移</li>
+     *     <li>一位或三位的y、Y，{@link FastDateFormat}将年份补零到四位</li>
+     *     <li>四位以上的X、独立月份L及其它字母，{@link FastDateFormat}不支持</li>
+     *     <li>未闭合的引号，{@link SimpleDateFormat}报错</li>
+     * </ul>
+     *
+     * @param pattern 日期格式
+     * @return 是否一致
+     */
+    private static boolean isFastFormatPattern(String pattern) {
+        final int length = pattern.length();
+        boolean inLiteral = false;
+        int i = 0;
+        while (i < length) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                // 两个连续的引号表示引号本身，切换两次后状态不变
+                inLiteral = !inLiteral;
+                i++;
+                continue;
+            }
+            if (inLiteral || !(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z')) {
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < length && pattern.charAt(end) == c) {
+                end++;
+            }
+            final int count = end - i;
+            switch (c) {
+                case 'y':
+                case 'Y':
+                    if (count == 1 || count == 3) {
+                        return false;
+                    }
+                    break;
+                case 'M':
+                    if (count >= 3) {
+                        return false;
+                    }
+                    break;
+                case 'Z':
+                    if (count >= 2) {
+                        return false;
+                    }
+                    break;
+                case 'X':
+                    if (count > 3) {
+                        return false;
+                    }
+                    break;
+                case 'd':
+                case 'D':
+                case 'F':
+                case 'w':
+                case 'W':
+                case 'u':
+                case 'H':
+                case 'k':
+                case 'K':
+                case 'h':
+                case 'm':
+                case 's':
+                case 'S':
+                    break;
+                default:
+                    return false;
+            }
+            i = end;
+        }
+        return !inLiteral;
+    }
+
+    /**
+     * 字符串是否为空白，null、空字符串或只包含空白符
+     *
+     * @param str 字符串
+     * @return 是否为空白
+     */
+    private static boolean isBlankChars(CharSequence str) {
+        if (str == null) {
+            return true;
+        }
+        final int length = str.length();
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 忽略大小写判断字符串中是否包含任意一个测试串
+     *
+     * @param str         字符串
+     * @param testStrings 测试串（小写）
+     * @return 是否包含
+     */
+    private static boolean containsAnyIgnoreCase(String str, String[] testStrings) {
+        final int length = str.length();
+        for (int i = 0; i < length; i++) {
+            final char c = Character.toLowerCase(str.charAt(i));
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            // 只在首字母相同时比较，避免逐位置全量比较
+            for (String test : testStrings) {
+                if (test.charAt(0) == c && str.regionMatches(true, i, test, 0, test.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 是否为单独的时间格式，等价于正则：{@code \d{1,2}:\d{1,2}(:\d{1,2})?}
+     *
+     * @param str 字符串
+     * @return 是否为时间格式
+     */
+    private static boolean isTimeOnly(String str) {
+        final int length = str.length();
+        int digits = 0;
+        int groups = 1;
+        for (int i = 0; i < length; i++) {
+            final char c = str.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 2) {
+                    return false;
                 }
+            } else if (c == ':' && digits > 0 && groups < 3) {
+                groups++;
+                digits = 0;
             } else {
-                result = datePart;
+                return false;
             }
         }
-        builder.append(result);
+        return digits > 0 && groups > 1;
+    }
 
-        // 时间部分
-        if (size == 2) {
-            builder.append(' ');
-            String timePart = dateAndTime.get(1).replaceAll("[时分秒]", ":");
-            if (timePart.length() != 0) {
-                if (timePart.endsWith(":")) {
-                    int fromIndexInclude = 0;
-                    int toIndexExclude1 = timePart.length() - 1;
-                    if (fromIndexInclude == toIndexExclude1) {
-                        timePart = "";
-                    } else {
-                        timePart = timePart.substring(fromIndexInclude, toIndexExclude1);
+    /**
+     * 是否为标准日期格式，等价于{@link DatePattern#REGEX_NORM}的完整匹配：<br>
+     * {@code \d{4}-\d{1,2}-\d{1,2}(\s\d{1,2}:\d{1,2}(:\d{1,2})?)?(.\d{1,6})?}
+     *
+     * @param str 字符串
+     * @return 是否匹配
+     */
+    private static boolean isNormFormat(String str) {
+        if (str == null || !isDigits(str, 0, 4) || !isCharAt(str, 4, '-')) {
+            return false;
+        }
+        for (int month = 2; month > 0; month--) {
+            final int dayStart = 6 + month;
+            if (!isDigits(str, 5, month) || !isCharAt(str, 5 + month, '-')) {
+                continue;
+            }
+            for (int day = 2; day > 0; day--) {
+                if (isDigits(str, dayStart, day) && isNormTimeAndFraction(str, dayStart + day)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 匹配标准格式中可选的时间部分和毫秒部分：{@code (\s\d{1,2}:\d{1,2}(:\d{1,2})?)?(.\d{1,6})?}
+     *
+     * @param str   字符串
+     * @param index 开始位置
+     * @return 是否匹配到结尾
+     */
+    private static boolean isNormTimeAndFraction(String str, int index) {
+        if (index < str.length() && isRegexWhitespace(str.charAt(index))) {
+            final int hourStart = index + 1;
+            for (int hour = 2; hour > 0; hour--) {
+                if (!isDigits(str, hourStart, hour) || !isCharAt(str, hourStart + hour, ':')) {
+                    continue;
+                }
+                final int minuteStart = hourStart + hour + 1;
+                for (int minute = 2; minute > 0; minute--) {
+                    if (!isDigits(str, minuteStart, minute)) {
+                        continue;
+                    }
+                    final int minuteEnd = minuteStart + minute;
+                    if (isCharAt(str, minuteEnd, ':')) {
+                        for (int second = 2; second > 0; second--) {
+                            if (isDigits(str, minuteEnd + 1, second) && isNormFraction(str, minuteEnd + 1 + second)) {
+                                return true;
+                            }
+                        }
+                    }
+                    if (isNormFraction(str, minuteEnd)) {
+                        return true;
                     }
                 }
             }
-            //将ISO8601中的逗号替换为.
-            timePart = timePart.replace(',', '.');
-            builder.append(timePart);
         }
+        return isNormFraction(str, index);
+    }
 
-        return builder.toString();
+    /**
+     * 匹配标准格式中可选的毫秒部分：{@code (.\d{1,6})?}
+     *
+     * @param str   字符串
+     * @param index 开始位置
+     * @return 是否匹配到结尾
+     */
+    private static boolean isNormFraction(String str, int index) {
+        final int length = str.length();
+        if (index == length) {
+            return true;
+        }
+        final int digits = length - index - 1;
+        if (digits < 1 || digits > 6) {
+            return false;
+        }
+        // 正则中的"."不匹配行终止符
+        switch (str.charAt(index)) {
+            case '\n':
+            case '\r':
+            case '\u0085':
+            case '\u2028':
+            case '\u2029':
+                return false;
+            default:
+                return isDigits(str, index + 1, digits);
+        }
+    }
+
+    /**
+     * 指定位置开始的count个字符是否都为数字
+     *
+     * @param str   字符串
+     * @param index 开始位置
+     * @param count 字符个数
+     * @return 是否都为数字
+     */
+    private static boolean isDigits(String str, int index, int count) {
+        if (index + count > str.length()) {
+            return false;
+        }
+        for (int i = index; i < index + count; i++) {
+            final char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 指定位置是否为给定字符
+     *
+     * @param str   字符串
+     * @param index 位置
+     * @param c     字符
+     * @return 是否为给定字符
+     */
+    private static boolean isCharAt(String str, int index, char c) {
+        return index < str.length() && str.charAt(index) == c;
+    }
+
+    /**
+     * 是否为正则中\s匹配的空白符
+     *
+     * @param c 字符
+     * @return 是否为空白符
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 是否包含类似"-08:00"或"-0800"的负时区偏移，等价于正则：{@code -\d{2}:?00}
+     *
+     * @param str 字符串
+     * @return 是否包含
+     */
+    private static boolean containsNegativeOffset(String str) {
+        int index = str.indexOf('-');
+        while (index >= 0) {
+            if (isDigits(str, index + 1, 2)) {
+                int zeroStart = index + 3;
+                if (isCharAt(str, zeroStart, ':')) {
+                    zeroStart++;
+                }
+                if (isCharAt(str, zeroStart, '0') && isCharAt(str, zeroStart + 1, '0')) {
+                    return true;
+                }
+            }
+            index = str.indexOf('-', index + 1);
+        }
+        return false;
     }
     // ------------------------------------------------------------------------ Private method end
 
@@ -2723,56 +3160,4 @@ public class DateUtil extends CalendarUtil {
 
         return sbuf.toString();
     }
-
-    /**
-     * 正则表达式和正则标识位的包装
-     *
-     * @author Looly
-     */
-    private static class RegexWithFlag {
-        private final String regex;
-        private final int flag;
-
-        /**
-         * 构造
-         *
-         * @param regex 正则
-         * @param flag  标识
-         */
-        public RegexWithFlag(String regex, int flag) {
-            this.regex = regex;
-            this.flag = flag;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + flag;
-            result = prime * result + ((regex == null) ? 0 : regex.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            RegexWithFlag other = (RegexWithFlag) obj;
-            if (flag != other.flag) {
-                return false;
-            }
-            if (regex == null) {
-                return other.regex == null;
-            } else {
-                return regex.equals(other.regex);
-            }
-        }
-    }
 }
@@ -3,13 +3,16 @@ package datetool.core;
 import datetool.DateUtil;
 import datetool.core.enums.DateField;
 import datetool.core.enums.Month;
+import datetool.core.format.CalendarPool;
 import datetool.core.format.DateParser;
-import datetool.core.format.FastDateParser;
+import datetool.core.format.MultiPatternParser;
+import datetool.core.format.ZoneOffsetTable;
 
 import java.text.ParsePosition;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * 针对{@link Calendar} 对象封装工具类
@@ -19,6 +22,21 @@ import java.util.*;
  */
 public class CalendarUtil {
 
+    private static final long MILLIS_PER_HOUR = 60 * 60 * 1000L;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+    /**
+     * 按偏移计算的结果距偏移切换的最小距离
+     */
+    private static final long OFFSET_MARGIN = 2 * MILLIS_PER_DAY;
+    /**
+     * 1583-01-01T00:00:00Z
+     */
+    private static final long GREGORIAN_START = -12212553600000L;
+    /**
+     * 按偏移计算时的时间上限，避免溢出
+     */
+    private static final long MILLIS_LIMIT = Long.MAX_VALUE / 2;
+
     /**
      * 创建Calendar对象，时间为默认时区的当前时间
      *
@@ -338,6 +356,206 @@ public class CalendarUtil {
         return ceiling(calendar, DateField.YEAR);
     }
 
+    // -------------------------------------------------------------------- begin and end of millis start
+
+    /**
+     * 获取某小时的开始时间，时区偏移不变时直接按毫秒数计算，临近时区切换时使用{@link Calendar}
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfHour(long millis, TimeZone timeZone) {
+        return modifyFixed(millis, timeZone, MILLIS_PER_HOUR, 0, false, CalendarUtil::beginOfHour);
+    }
+
+    /**
+     * 获取某小时的结束时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 结束时间的时间戳
+     */
+    public static long endOfHour(long millis, TimeZone timeZone) {
+        return modifyFixed(millis, timeZone, MILLIS_PER_HOUR, 0, true, CalendarUtil::endOfHour);
+    }
+
+    /**
+     * 获取某天的开始时间，时区偏移不变时直接按毫秒数计算，临近时区切换时使用{@link Calendar}
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfDay(long millis, TimeZone timeZone) {
+        return modifyFixed(millis, timeZone, MILLIS_PER_DAY, 0, false, CalendarUtil::beginOfDay);
+    }
+
+    /**
+     * 获取某天的结束时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 结束时间的时间戳
+     */
+    public static long endOfDay(long millis, TimeZone timeZone) {
+        return modifyFixed(millis, timeZone, MILLIS_PER_DAY, 0, true, CalendarUtil::endOfDay);
+    }
+
+    /**
+     * 获取某周的开始时间，周一定为一周的开始时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfWeek(long millis, TimeZone timeZone) {
+        return beginOfWeek(millis, timeZone, true);
+    }
+
+    /**
+     * 获取某周的开始时间
+     *
+     * @param millis             时间戳
+     * @param timeZone           时区
+     * @param isMondayAsFirstDay 是否周一做为一周的第一天（false表示周日做为第一天）
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfWeek(long millis, TimeZone timeZone, boolean isMondayAsFirstDay) {
+        // 1970-01-01为周四，偏移3天对齐到周一，偏移4天对齐到周日
+        return isMondayAsFirstDay
+                ? modifyFixed(millis, timeZone, 7 * MILLIS_PER_DAY, 3 * MILLIS_PER_DAY, false, calendar -> beginOfWeek(calendar, true))
+                : modifyFixed(millis, timeZone, 7 * MILLIS_PER_DAY, 4 * MILLIS_PER_DAY, false, calendar -> beginOfWeek(calendar, false));
+    }
+
+    /**
+     * 获取某周的结束时间，周日定为一周的结束
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 结束时间的时间戳
+     */
+    public static long endOfWeek(long millis, TimeZone timeZone) {
+        return endOfWeek(millis, timeZone, true);
+    }
+
+    /**
+     * 获取某周的结束时间
+     *
+     * @param millis            时间戳
+     * @param timeZone          时区
+     * @param isSundayAsLastDay 是否周日做为一周的最后一天（false表示周六做为最后一天）
+     * @return 结束时间的时间戳
+     */
+    public static long endOfWeek(long millis, TimeZone timeZone, boolean isSundayAsLastDay) {
+        return isSundayAsLastDay
+                ? modifyFixed(millis, timeZone, 7 * MILLIS_PER_DAY, 3 * MILLIS_PER_DAY, true, calendar -> endOfWeek(calendar, true))
+                : modifyFixed(millis, timeZone, 7 * MILLIS_PER_DAY, 4 * MILLIS_PER_DAY, true, calendar -> endOfWeek(calendar, false));
+    }
+
+    /**
+     * 获取某月的开始时间，时区偏移不变时按历法直接计算，临近时区切换时使用{@link Calendar}
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfMonth(long millis, TimeZone timeZone) {
+        return modifyMonths(millis, timeZone, 1, false, CalendarUtil::beginOfMonth);
+    }
+
+    /**
+     * 获取某月的结束时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 结束时间的时间戳
+     */
+    public static long endOfMonth(long millis, TimeZone timeZone) {
+        return modifyMonths(millis, timeZone, 1, true, CalendarUtil::endOfMonth);
+    }
+
+    /**
+     * 获取某季度的开始时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfQuarter(long millis, TimeZone timeZone) {
+        return modifyMonths(millis, timeZone, 3, false, CalendarUtil::beginOfQuarter);
+    }
+
+    /**
+     * 获取某季度的结束时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 结束时间的时间戳
+     */
+    public static long endOfQuarter(long millis, TimeZone timeZone) {
+        return modifyMonths(millis, timeZone, 3, true, CalendarUtil::endOfQuarter);
+    }
+
+    /**
+     * 获取某年的开始时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 开始时间的时间戳
+     */
+    public static long beginOfYear(long millis, TimeZone timeZone) {
+        return modifyMonths(millis, timeZone, 12, false, CalendarUtil::beginOfYear);
+    }
+
+    /**
+     * 获取某年的结束时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @return 结束时间的时间戳
+     */
+    public static long endOfYear(long millis, TimeZone timeZone) {
+        return modifyMonths(millis, timeZone, 12, true, CalendarUtil::endOfYear);
+    }
+
+    // -------------------------------------------------------------------- begin and end of millis end
+
+    /**
+     * 偏移时间，结果与{@link Calendar#add(int, int)}相同<br>
+     * 毫秒、秒、分、时按固定长度直接计算；天和周按本地日期计算，时区偏移变化时按{@link GregorianCalendar}相同的规则修正；
+     * 月、年等其它字段及偏移表之外的时间使用{@link Calendar}
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @param field    偏移的字段
+     * @param offset   偏移量，正数为向后偏移，负数为向前偏移
+     * @return 偏移后的时间戳
+     */
+    public static long offset(long millis, TimeZone timeZone, DateField field, int offset) {
+        switch (field) {
+            case MILLISECOND:
+                return millis + offset;
+            case SECOND:
+                return millis + offset * 1000L;
+            case MINUTE:
+                return millis + offset * 60000L;
+            case HOUR:
+            case HOUR_OF_DAY:
+                return millis + offset * MILLIS_PER_HOUR;
+            case DAY_OF_MONTH:
+            case DAY_OF_YEAR:
+            case DAY_OF_WEEK:
+                return offsetDays(millis, timeZone, field, offset, offset);
+            case WEEK_OF_YEAR:
+            case WEEK_OF_MONTH:
+            case DAY_OF_WEEK_IN_MONTH:
+                return offsetDays(millis, timeZone, field, offset, offset * 7L);
+            default:
+                return modifyByCalendar(millis, timeZone, calendar -> add(calendar, field, offset));
+        }
+    }
+
     /**
      * 比较两个日期是否为同一天
      *
@@ -729,32 +947,32 @@ public class CalendarUtil {
      * @since 5.3.11
      */
     public static Calendar parseByPatterns(String str, Locale locale, boolean lenient, String... parsePatterns) throws DateException {
+        return tryParseByPatterns(str, locale, lenient, parsePatterns)
+                .orElseThrow(() -> new DateException("Unable to parse the date: {}", str));
+    }
+
+    /**
+     * 通过给定的日期格式解析日期时间字符串，规则与{@link #parseByPatterns(String, Locale, boolean, String...)}相同，
+     * 但所有格式都不匹配时返回{@link Optional#empty()}，解析过程中不抛出、不捕获异常。<br>
+     * 各格式的解析器按时区、地区和格式缓存，见{@link MultiPatternParser}。
+     *
+     * @param str           日期时间字符串，非空
+     * @param locale        地区，当为{@code null}时使用{@link Locale#getDefault()}
+     * @param lenient       日期时间解析是否使用宽容模式，非宽容模式下字段越界的格式视为不匹配
+     * @param parsePatterns 需要尝试的日期时间格式数组，非空, 见SimpleDateFormat
+     * @return 解析后的Calendar
+     * @throws IllegalArgumentException if the date string or pattern array is null
+     */
+    public static Optional<Calendar> tryParseByPatterns(String str, Locale locale, boolean lenient, String... parsePatterns) {
         if (str == null || parsePatterns == null) {
             throw new IllegalArgumentException("Date and Patterns must not be null");
         }
 
-        final TimeZone tz = TimeZone.getDefault();
         final Locale defaultValue = Locale.getDefault();
         //noinspection ConstantConditions
         final Locale lcl = null == locale || locale.equals(null) ? defaultValue : locale;
-        final ParsePosition pos = new ParsePosition(0);
-        final Calendar calendar = Calendar.getInstance(tz, lcl);
-        calendar.setLenient(lenient);
-
-        for (final String parsePattern : parsePatterns) {
-            final FastDateParser fdp = new FastDateParser(parsePattern, tz, lcl);
-            calendar.clear();
-            try {
-                if (fdp.parse(str, pos, calendar) && pos.getIndex() == str.length()) {
-                    return calendar;
-                }
-            } catch (final IllegalArgumentException ignore) {
-                // leniency is preventing calendar from being set
-            }
-            pos.setIndex(0);
-        }
-
-        throw new DateException("Unable to parse the date: {}", str);
+        // 时区传null，使用默认时区的快照，避免每次复制默认时区
+        return MultiPatternParser.getInstance(null, lcl, parsePatterns).parse(str, lenient);
     }
 
     /**
@@ -930,6 +1148,161 @@ public class CalendarUtil {
         return calendar;
     }
 
+    /**
+     * 按固定长度的周期取本地时间的开始或结束时间
+     *
+     * @param millis     时间戳
+     * @param timeZone   时区
+     * @param unitMillis 周期长度
+     * @param shift      周期起点相对1970-01-01的偏移
+     * @param end        是否取结束时间
+     * @param fallback   使用Calendar的计算方式
+     * @return 时间戳
+     */
+    private static long modifyFixed(long millis, TimeZone timeZone, long unitMillis, long shift, boolean end,
+                                    UnaryOperator<Calendar> fallback) {
+        final ZoneOffsetTable table = ZoneOffsetTable.of(timeZone);
+        final int index = indexOf(table, millis);
+        if (index >= 0) {
+            final int offset = table.getOffset(index);
+            final long local = millis + offset + shift;
+            final long begin = Math.floorDiv(local, unitMillis) * unitMillis - shift;
+            final long result = (end ? begin + unitMillis - 1 : begin) - offset;
+            if (isInside(table, index, result)) {
+                return result;
+            }
+        }
+        return modifyByCalendar(millis, timeZone, fallback);
+    }
+
+    /**
+     * 按月、季度、年取本地时间的开始或结束时间
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @param months   周期包含的月数
+     * @param end      是否取结束时间
+     * @param fallback 使用Calendar的计算方式
+     * @return 时间戳
+     */
+    private static long modifyMonths(long millis, TimeZone timeZone, int months, boolean end,
+                                     UnaryOperator<Calendar> fallback) {
+        final ZoneOffsetTable table = ZoneOffsetTable.of(timeZone);
+        final int index = indexOf(table, millis);
+        if (index >= 0) {
+            final int offset = table.getOffset(index);
+            // 公历日期，算法见 http://howardhinnant.github.io/date_algorithms.html
+            final long z = Math.floorDiv(millis + offset, MILLIS_PER_DAY) + 719468;
+            final long era = Math.floorDiv(z, 146097L);
+            final long doe = z - era * 146097;
+            final long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+            final long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+            final long mp = (5 * doy + 2) / 153;
+            // 从0开始的月份
+            final int month = (int) (mp < 10 ? mp + 2 : mp - 10);
+            final long year = yoe + era * 400 + (month < 2 ? 1 : 0);
+
+            long monthIndex = year * 12 + month / months * months;
+            if (end) {
+                monthIndex += months;
+            }
+            final long begin = daysOfMonthStart(monthIndex) * MILLIS_PER_DAY;
+            final long result = (end ? begin - 1 : begin) - offset;
+            if (isInside(table, index, result)) {
+                return result;
+            }
+        }
+        return modifyByCalendar(millis, timeZone, fallback);
+    }
+
+    /**
+     * 按天偏移，保持本地时间不变<br>
+     * 与{@link GregorianCalendar#add(int, int)}相同：先按原偏移计算，偏移变化时按新偏移修正，修正后日期改变（新的本地时间不存在）则不修正
+     *
+     * @param millis   时间戳
+     * @param timeZone 时区
+     * @param field    偏移的字段，用于{@link Calendar}计算
+     * @param offset   偏移量，用于{@link Calendar}计算
+     * @param days     偏移的天数
+     * @return 时间戳
+     */
+    private static long offsetDays(long millis, TimeZone timeZone, DateField field, int offset, long days) {
+        final ZoneOffsetTable table = ZoneOffsetTable.of(timeZone);
+        final int index = indexOf(table, millis);
+        if (index >= 0) {
+            final int zoneOffset = table.getOffset(index);
+            final long date = Math.floorDiv(millis + zoneOffset, MILLIS_PER_DAY) + days;
+            final long result = millis + days * MILLIS_PER_DAY;
+            final int resultIndex = indexOf(table, result);
+            if (resultIndex >= 0) {
+                final int diff = zoneOffset - table.getOffset(resultIndex);
+                if (0 == diff) {
+                    return result;
+                }
+                final long adjusted = result + diff;
+                final int adjustedIndex = indexOf(table, adjusted);
+                if (adjustedIndex >= 0) {
+                    return Math.floorDiv(adjusted + table.getOffset(adjustedIndex), MILLIS_PER_DAY) == date ? adjusted : result;
+                }
+            }
+        }
+        return modifyByCalendar(millis, timeZone, calendar -> add(calendar, field, offset));
+    }
+
+    private static Calendar add(Calendar calendar, DateField field, int offset) {
+        //noinspection MagicConstant
+        calendar.add(field.getValue(), offset);
+        return calendar;
+    }
+
+    /**
+     * 某月第一天距1970-01-01的天数
+     *
+     * @param monthIndex 年 * 12 + 从0开始的月份
+     * @return 天数
+     */
+    private static long daysOfMonthStart(long monthIndex) {
+        final int month = (int) Math.floorMod(monthIndex, 12L) + 1;
+        final long year = Math.floorDiv(monthIndex, 12L) - (month <= 2 ? 1 : 0);
+        final long era = Math.floorDiv(year, 400L);
+        final long yoe = year - era * 400;
+        final long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        final long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static long modifyByCalendar(long millis, TimeZone timeZone, UnaryOperator<Calendar> modifier) {
+        final Calendar calendar = CalendarPool.acquire(timeZone, Locale.getDefault(Locale.Category.FORMAT));
+        try {
+            calendar.setTimeInMillis(millis);
+            return modifier.apply(calendar).getTimeInMillis();
+        } finally {
+            CalendarPool.release(calendar);
+        }
+    }
+
+    /**
+     * 查询时间在时区偏移表中所在的段，早于1583年（之前{@link GregorianCalendar}使用儒略历）或过大的时间不使用偏移表
+     *
+     * @param table  时区偏移表，可为{@code null}
+     * @param millis 时间戳
+     * @return 段的索引，无法使用偏移表时返回-1
+     */
+    private static int indexOf(ZoneOffsetTable table, long millis) {
+        if (null == table || millis < GREGORIAN_START || millis >= MILLIS_LIMIT) {
+            return -1;
+        }
+        return table.indexOf(millis);
+    }
+
+    /**
+     * 结果是否在段内且距两端不少于{@link #OFFSET_MARGIN}，保证结果对应的本地时间不会因时区切换而重复或不存在
+     */
+    private static boolean isInside(ZoneOffsetTable table, int index, long millis) {
+        return millis >= Math.max(table.getStart(index), GREGORIAN_START) + OFFSET_MARGIN
+                && millis < Math.min(table.getEnd(index), MILLIS_LIMIT) - OFFSET_MARGIN;
+    }
+
     /**
      * 修改类型
      *
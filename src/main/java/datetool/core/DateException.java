@@ -10,6 +10,12 @@ import datetool.DateUtil;
 public class DateException extends RuntimeException {
     private static final long serialVersionUID = 8247610319171014183L;
 
+    /**
+     * 是否记录异常堆栈，可通过系统属性{@code datetool.exception.stackTrace=false}关闭，
+     * 用于大量解析失败且不关心堆栈的场景，减少创建异常的开销
+     */
+    private static final boolean STACK_TRACE = !"false".equalsIgnoreCase(System.getProperty("datetool.exception.stackTrace"));
+
     public DateException(Throwable e) {
         super(getMessage(e), e);
     }
@@ -36,4 +42,9 @@ public class DateException extends RuntimeException {
         super(message, throwable);
     }
 
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return STACK_TRACE ? super.fillInStackTrace() : this;
+    }
+
 }
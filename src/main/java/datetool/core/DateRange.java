@@ -4,25 +4,48 @@ import datetool.DateUtil;
 import datetool.core.enums.DateField;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Calendar;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.NoSuchElementException;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Spliterator;
+import java.util.TimeZone;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * 日期范围
+ * 日期范围<br>
+ * 第k个元素为起始时间偏移k个步进，不超过结束时间。{@link #iterator()}每次返回独立的游标，
+ * 同一范围可重复遍历，也可通过{@link #stream()}或{@link #spliterator()}并行处理。
+ *
+ * <p>
+ * 毫秒、秒、分、时等固定长度的单位直接按毫秒数步进；天、周在范围内时区偏移不变时同样按毫秒数步进，
+ * 否则与月、年一样使用{@link Calendar}计算，保持与{@link DateTime#offsetNew(DateField, int)}一致的本地时间语义。
  *
  * @author looly
  * @since 4.1.0
  */
-public class DateRange  implements Iterable<DateTime>, Iterator<DateTime>, Serializable {
+public class DateRange implements Iterable<DateTime>, Iterator<DateTime>, Serializable {
 	private static final long serialVersionUID = 1L;
 
+	private static final long MILLIS_PER_HOUR = 60 * 60 * 1000L;
+	private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+	/**
+	 * 1900-01-01T00:00:00Z，{@link TimeZone}与时区规则在此之前的地方平时偏移不一致
+	 */
+	private static final long ZONE_RULES_START = -2208988800000L;
 	/**
-	 * 锁保证线程安全
+	 * 2037-01-01T00:00:00Z，{@link TimeZone}的切换表止于2037年
 	 */
-	private final Lock lock = new ReentrantLock();
+	private static final long ZONE_RULES_END = 2114380800000L;
+
 	/**
 	 * 起始对象
 	 */
@@ -32,17 +55,13 @@ public class DateRange  implements Iterable<DateTime>, Iterator<DateTime>, Seria
 	 */
 	private final DateTime end;
 	/**
-	 * 下一个对象
-	 */
-	private DateTime next;
-	/**
-	 * 步进
+	 * 步进单位
 	 */
-	private final Stepper<DateTime> stepper;
+	private final DateField unit;
 	/**
-	 * 索引
+	 * 步进数
 	 */
-	private int index = 0;
+	private final int step;
 	/**
 	 * 是否包含第一个元素
 	 */
@@ -52,6 +71,19 @@ public class DateRange  implements Iterable<DateTime>, Iterator<DateTime>, Seria
 	 */
 	private final boolean includeEnd;
 
+	/**
+	 * 每个步进的毫秒数，需要使用{@link Calendar}计算时为0
+	 */
+	private transient volatile long stepMillis;
+	/**
+	 * 最后一个元素的索引加一（不包含），0表示未计算，反序列化后也为0
+	 */
+	private transient volatile long endIndex;
+	/**
+	 * 直接调用{@link #hasNext()}和{@link #next()}时使用的游标
+	 */
+	private transient Cursor cursor;
+
 	/**
 	 * 构造，包含开始和结束日期时间
 	 *
@@ -81,7 +113,7 @@ public class DateRange  implements Iterable<DateTime>, Iterator<DateTime>, Seria
 	 * @param start 起始日期时间
 	 * @param end 结束日期时间
 	 * @param unit 步进单位
-	 * @param step 步进数
+	 * @param step 步进数，必须大于0
 	 * @param isIncludeStart 是否包含开始的时间
 	 * @param isIncludeEnd 是否包含结束的时间
 	 */
@@ -89,97 +121,438 @@ public class DateRange  implements Iterable<DateTime>, Iterator<DateTime>, Seria
 		if (null == DateUtil.date(start)) {
 			throw new IllegalArgumentException(DateUtil.format("First element must be not null!"));
 		}
+		if (step <= 0) {
+			throw new IllegalArgumentException(DateUtil.format("Step must be positive: {}", step));
+		}
 		this.start = DateUtil.date(start);
 		this.end = DateUtil.date(end);
-		this.stepper = (current, end1, index) -> {
-			final DateTime dt = DateUtil.date(start).offsetNew(unit, (index + 1) * step);
-			if (dt.isAfter(end1)) {
-				return null;
-			}
-			return dt;
-		};
-		this.next = safeStep(this.start);
+		this.unit = unit;
+		this.step = step;
 		this.includeStart = isIncludeStart;
 		this.includeEnd = isIncludeEnd;
 	}
+
+	/**
+	 * 元素个数
+	 *
+	 * @return 元素个数
+	 */
+	public long size() {
+		return lastIndex() - firstIndex() + 1;
+	}
+
+	/**
+	 * 返回独立的游标，不同游标之间互不影响，单个游标非线程安全
+	 *
+	 * @return 游标
+	 */
 	@Override
-	public boolean hasNext() {
-		lock.lock();
-		try {
-			if (0 == this.index && this.includeStart) {
-				return true;
-			}
-			if (null == this.next) {
-				return false;
-			} else if (!includeEnd && this.next.equals(this.end)) {
-				return false;
-			}
-		} finally {
-			lock.unlock();
+	public Iterator<DateTime> iterator() {
+		return new Cursor(firstIndex(), lastIndex());
+	}
+
+	/**
+	 * 按索引分割的{@link Spliterator}，支持并行流
+	 *
+	 * @return {@link Spliterator}
+	 */
+	@Override
+	public Spliterator<DateTime> spliterator() {
+		return new Cursor(firstIndex(), lastIndex());
+	}
+
+	/**
+	 * 转为顺序流，需要并行处理时调用{@link Stream#parallel()}
+	 *
+	 * @return 流
+	 */
+	public Stream<DateTime> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * 所有元素的毫秒数，不创建{@link DateTime}对象
+	 *
+	 * @return 毫秒数数组
+	 */
+	public long[] toMillis() {
+		final long first = firstIndex();
+		final long size = size();
+		if (size > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException(DateUtil.format("Range is too large: {}", size));
+		}
+		final long[] result = new long[(int) size];
+		final StepCalendar calendar = stepMillis() == 0 ? new StepCalendar() : null;
+		for (int i = 0; i < result.length; i++) {
+			result[i] = millisAt(first + i, calendar);
 		}
-		return true;
+		return result;
 	}
 
+	/**
+	 * 所有元素毫秒数的顺序流，不创建{@link DateTime}对象，支持并行
+	 *
+	 * @return 毫秒数流
+	 */
+	public LongStream millisStream() {
+		return StreamSupport.longStream(new MillisCursor(firstIndex(), lastIndex()), false);
+	}
+
+	/**
+	 * 范围本身作为迭代器时，与{@link #iterator()}返回的游标相互独立，仅可遍历一次
+	 */
 	@Override
-	public DateTime next() {
-		lock.lock();
-		try {
-			if (!this.hasNext()) {
-				throw new NoSuchElementException("Has no next range!");
+	public synchronized boolean hasNext() {
+		return rangeCursor().hasNext();
+	}
+
+	/**
+	 * 范围本身作为迭代器时，与{@link #iterator()}返回的游标相互独立，仅可遍历一次
+	 */
+	@Override
+	public synchronized DateTime next() {
+		return rangeCursor().next();
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException("Can not remove ranged element!");
+	}
+
+	private Cursor rangeCursor() {
+		if (null == cursor) {
+			cursor = new Cursor(firstIndex(), lastIndex());
+		}
+		return cursor;
+	}
+
+	// ------------------------------------------------------------------------------------------- Index
+
+	private long firstIndex() {
+		return includeStart ? 0 : 1;
+	}
+
+	/**
+	 * 最后一个元素的索引：不超过结束时间的最大索引，不包含结束时间且恰好等于结束时间时减一；包含开始时间时至少为0
+	 *
+	 * @return 最后一个元素的索引
+	 */
+	private long lastIndex() {
+		long endIndex = this.endIndex;
+		if (endIndex == 0) {
+			endIndex = computeLastIndex() + 1;
+			this.endIndex = endIndex;
+		}
+		return endIndex - 1;
+	}
+
+	private long computeLastIndex() {
+		long last = -1;
+		if (null != end && !start.isAfter(end)) {
+			final long span = end.getTime() - start.getTime();
+			if (stepMillis() > 0) {
+				last = span / stepMillis();
+			} else {
+				last = searchLastIndex(span, new StepCalendar());
+			}
+			if (!includeEnd && last >= 1 && millisAt(last, null) == end.getTime()) {
+				last--;
 			}
-			return nextUncheck();
-		} finally {
-			lock.unlock();
 		}
+		// 包含开始时间时，第一个元素不受结束时间限制
+		return Math.max(last, 0);
 	}
 
 	/**
-	 * 获取下一个元素，并将下下个元素准备好
+	 * 使用{@link Calendar}步进时，二分查找不超过结束时间的最大索引
+	 *
+	 * @param span     起止时间差
+	 * @param calendar 步进使用的Calendar
+	 * @return 最大索引
 	 */
-	private DateTime nextUncheck() {
-		DateTime current;
-		if(0 == this.index){
-			current = start;
-			if(!this.includeStart){
-				// 获取下一组元素
-				index ++;
-				return nextUncheck();
+	private long searchLastIndex(long span, StepCalendar calendar) {
+		// 每个单位的最短长度：月28天，年365天
+		final long minUnitMillis;
+		switch (unit) {
+			case MONTH:
+				minUnitMillis = 28 * MILLIS_PER_DAY;
+				break;
+			case YEAR:
+				minUnitMillis = 365 * MILLIS_PER_DAY;
+				break;
+			case ERA:
+				return Math.min(1, Integer.MAX_VALUE / step);
+			default:
+				minUnitMillis = unit == DateField.AM_PM ? 11 * MILLIS_PER_HOUR : 23 * MILLIS_PER_HOUR;
+				break;
+		}
+		long low = 0;
+		long high = Math.min(span / minUnitMillis / step + 1, Integer.MAX_VALUE / step);
+		final long endMillis = end.getTime();
+		while (low < high) {
+			final long mid = (low + high + 1) >>> 1;
+			if (calendar.millisAt(mid) <= endMillis) {
+				low = mid;
+			} else {
+				high = mid - 1;
 			}
-		} else {
-			current = next;
-			this.next = safeStep(this.next);
 		}
+		return low;
+	}
+
+	// ------------------------------------------------------------------------------------------- Step
 
-		index++;
-		return current;
+	/**
+	 * 每个步进的毫秒数，天和周仅在范围内偏移不变时按固定长度计算
+	 *
+	 * @return 毫秒数，需要使用{@link Calendar}时为0
+	 */
+	private long stepMillis() {
+		long millis = this.stepMillis;
+		if (millis == 0) {
+			millis = computeStepMillis();
+			// 使用Calendar时记为-1，避免重复判断
+			this.stepMillis = millis == 0 ? -1 : millis;
+		}
+		return millis < 0 ? 0 : millis;
+	}
+
+	private long computeStepMillis() {
+		final long unitMillis;
+		switch (unit) {
+			case MILLISECOND:
+				return step;
+			case SECOND:
+				return step * 1000L;
+			case MINUTE:
+				return step * 60_000L;
+			case HOUR:
+			case HOUR_OF_DAY:
+				return step * MILLIS_PER_HOUR;
+			case AM_PM:
+				unitMillis = 12 * MILLIS_PER_HOUR;
+				break;
+			case DAY_OF_MONTH:
+			case DAY_OF_YEAR:
+			case DAY_OF_WEEK:
+				unitMillis = MILLIS_PER_DAY;
+				break;
+			case WEEK_OF_YEAR:
+			case WEEK_OF_MONTH:
+			case DAY_OF_WEEK_IN_MONTH:
+				unitMillis = 7 * MILLIS_PER_DAY;
+				break;
+			default:
+				return 0;
+		}
+		return isFixedOffset() ? step * unitMillis : 0;
 	}
 
 	/**
-	 * 不抛异常的获取下一步进的元素，如果获取失败返回{@code null}
+	 * 起止时间之间时区偏移是否不变，不变时按天步进等价于按固定毫秒数步进
 	 *
-	 * @param base  上一个元素
-	 * @return 下一步进
+	 * @return 偏移是否不变
 	 */
-	private DateTime safeStep(DateTime base) {
-		final int index = this.index;
-		DateTime next = null;
-		try {
-			next = stepper.step(base, this.end, index);
-		} catch (Exception e) {
-			// ignore
+	private boolean isFixedOffset() {
+		if (null == end || start.isAfter(end)) {
+			return true;
+		}
+		final TimeZone zone = zone();
+		final long startMillis = start.getTime();
+		final long endMillis = end.getTime();
+		if (zone.getOffset(startMillis) != zone.getOffset(endMillis)) {
+			return false;
+		}
+		if (!zone.useDaylightTime() && zone.toZoneId().getRules().isFixedOffset()) {
+			return true;
 		}
+		if (startMillis < ZONE_RULES_START || endMillis >= ZONE_RULES_END) {
+			return false;
+		}
+		final ZoneOffsetTransition next = zone.toZoneId().getRules().nextTransition(Instant.ofEpochMilli(startMillis));
+		return null == next || next.toEpochSecond() * 1000L > endMillis;
+	}
 
-		return next;
+	/**
+	 * 第index个元素的毫秒数
+	 *
+	 * @param index    索引
+	 * @param calendar 需要时使用的Calendar，{@code null}表示按需创建
+	 * @return 毫秒数
+	 */
+	private long millisAt(long index, StepCalendar calendar) {
+		final long millis = stepMillis();
+		if (millis > 0) {
+			return start.getTime() + index * millis;
+		}
+		return (null == calendar ? new StepCalendar() : calendar).millisAt(index);
 	}
 
-	@Override
-	public void remove() {
-		throw new UnsupportedOperationException("Can not remove ranged element!");
+	private TimeZone zone() {
+		final TimeZone zone = start.getTimeZone();
+		return null == zone ? TimeZone.getDefault() : zone;
 	}
 
-	@Override
-	public Iterator<DateTime> iterator() {
-		return this;
+	/**
+	 * 使用{@link Calendar}按本地时间步进，每个游标独立持有
+	 */
+	private final class StepCalendar {
+		private final Calendar calendar = Calendar.getInstance(zone(), Locale.getDefault(Locale.Category.FORMAT));
+
+		long millisAt(long index) {
+			calendar.setTimeInMillis(start.getTime());
+			//noinspection MagicConstant
+			calendar.add(unit.getValue(), Math.toIntExact(index * step));
+			return calendar.getTimeInMillis();
+		}
+	}
+
+	/**
+	 * 毫秒数游标，遍历索引区间[index, last]
+	 */
+	private final class MillisCursor implements Spliterator.OfLong {
+		private long index;
+		private final long last;
+		private StepCalendar calendar;
+
+		MillisCursor(long index, long last) {
+			this.index = index;
+			this.last = last;
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			if (index > last) {
+				return false;
+			}
+			action.accept(millis(index++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			while (index <= last) {
+				action.accept(millis(index++));
+			}
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			final long remaining = last - index + 1;
+			if (remaining < 2) {
+				return null;
+			}
+			final long mid = index + remaining / 2;
+			final MillisCursor prefix = new MillisCursor(index, mid - 1);
+			this.index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Math.max(0, last - index + 1);
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+		}
+
+		@Override
+		public Comparator<? super Long> getComparator() {
+			return null;
+		}
+
+		private long millis(long i) {
+			if (stepMillis() == 0 && null == calendar) {
+				calendar = new StepCalendar();
+			}
+			return millisAt(i, calendar);
+		}
+	}
+
+	/**
+	 * 游标，遍历索引区间[index, last]，同时作为按索引分割的{@link Spliterator}
+	 */
+	private final class Cursor implements Iterator<DateTime>, Spliterator<DateTime> {
+		private long index;
+		private final long last;
+		private StepCalendar calendar;
+
+		Cursor(long index, long last) {
+			this.index = index;
+			this.last = last;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index <= last;
+		}
+
+		@Override
+		public DateTime next() {
+			if (index > last) {
+				throw new NoSuchElementException("Has no next range!");
+			}
+			return element(index++);
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Can not remove ranged element!");
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super DateTime> action) {
+			if (index > last) {
+				return false;
+			}
+			action.accept(element(index++));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super DateTime> action) {
+			while (index <= last) {
+				action.accept(element(index++));
+			}
+		}
+
+		@Override
+		public Spliterator<DateTime> trySplit() {
+			final long remaining = last - index + 1;
+			if (remaining < 2) {
+				return null;
+			}
+			final long mid = index + remaining / 2;
+			final Cursor prefix = new Cursor(index, mid - 1);
+			this.index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Math.max(0, last - index + 1);
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+		}
+
+		@Override
+		public Comparator<? super DateTime> getComparator() {
+			// 按自然顺序排列
+			return null;
+		}
+
+		private DateTime element(long i) {
+			if (stepMillis() == 0 && null == calendar) {
+				calendar = new StepCalendar();
+			}
+			// 保留起始对象的时区、可变性及周设置
+			return start.copyWith(millisAt(i, calendar));
+		}
 	}
 
 	/**
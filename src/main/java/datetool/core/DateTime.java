@@ -2,14 +2,18 @@ package datetool.core;
 
 import datetool.DateUtil;
 import datetool.core.enums.*;
+import datetool.core.format.CalendarPool;
+import datetool.core.format.DateFields;
 import datetool.core.format.DateParser;
+import datetool.core.format.DefaultTimeZone;
 import datetool.core.format.DatePrinter;
 import datetool.core.format.FastDateFormat;
+import datetool.core.format.GlobalCustomFormat;
+import datetool.core.format.ZoneOffsetTable;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.Timestamp;
 import java.text.DateFormat;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -61,6 +65,10 @@ public class DateTime extends Date {
      * 第一周最少天数
      */
     private int minimalDaysInFirstWeek;
+    /**
+     * 字段缓存，首次读取字段时计算，时间、时区或周的设置改变后重新计算
+     */
+    private transient FieldCache fieldCache;
 
     /**
      * 转换时间戳为 DateTime
@@ -261,7 +269,9 @@ public class DateTime extends Date {
      * @see DatePattern
      */
     public DateTime(CharSequence dateStr, String format) {
-        this(parse(dateStr, DateUtil.newSimpleFormat(format)));
+        this(GlobalCustomFormat.isCustomParseFormat(format)
+                ? GlobalCustomFormat.parse(dateStr, format)
+                : parse(dateStr, DateUtil.newSimpleFormat(format)));
     }
 
     /**
@@ -295,7 +305,22 @@ public class DateTime extends Date {
      * @see DatePattern
      */
     public DateTime(CharSequence dateStr, DateParser dateParser, boolean lenient) {
-        this(parse(dateStr, dateParser, lenient));
+        super(0);
+        final long fixedMillis = dateParser instanceof FastDateFormat ? ((FastDateFormat) dateParser).parseFixed(dateStr) : Long.MIN_VALUE;
+        if (Long.MIN_VALUE != fixedMillis) {
+            // 定长格式直接得到毫秒数，无需创建Calendar
+            setTimeInternal(fixedMillis);
+            this.timeZone = dateParser.getTimeZone();
+        } else {
+            final Calendar calendar = parse(dateStr, dateParser, lenient);
+            try {
+                setTimeInternal(calendar.getTimeInMillis());
+                this.timeZone = calendar.getTimeZone();
+            } finally {
+                CalendarPool.release(calendar);
+            }
+            this.setFirstDayOfWeek(Week.MONDAY);
+        }
     }
 
     // -------------------------------------------------------------------- Constructor end
@@ -315,22 +340,8 @@ public class DateTime extends Date {
             throw new IllegalArgumentException("ERA is not support offset!");
         }
 
-        final Calendar cal = toCalendar();
-        //noinspection MagicConstant
-        cal.add(datePart.getValue(), offset);
-        try {
-            DateTime dt;
-            if (mutable) {
-                dt = this;
-            } else {
-                Method cloneMethod = getClass().getDeclaredMethod("clone");
-                cloneMethod.setAccessible(true);
-                dt = (DateTime) cloneMethod.invoke(this);
-            }
-            return dt.setTimeInternal(cal.getTimeInMillis());
-        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+        final long millis = offsetMillis(datePart, offset);
+        return mutable ? setTimeInternal(millis) : copyWith(millis);
     }
 
     /**
@@ -343,19 +354,32 @@ public class DateTime extends Date {
      * @since 3.0.9
      */
     public DateTime offsetNew(DateField datePart, int offset) {
-        final Calendar cal = toCalendar();
-        //noinspection MagicConstant
-        cal.add(datePart.getValue(), offset);
+        return copyWith(offsetMillis(datePart, offset));
+    }
 
-        DateTime res;
-        try {
-            Method cloneMethod = getClass().getDeclaredMethod("clone");
-            cloneMethod.setAccessible(true);
-            res = (DateTime) cloneMethod.invoke(this);
-            return res.setTimeInternal(cal.getTimeInMillis());
-        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
+    /**
+     * 计算偏移后的毫秒数，固定长度的字段直接计算，见{@link CalendarUtil#offset(long, TimeZone, DateField, int)}
+     *
+     * @param datePart 调整的部分 {@link DateField}
+     * @param offset   偏移量
+     * @return 偏移后的毫秒数
+     */
+    private long offsetMillis(DateField datePart, int offset) {
+        return CalendarUtil.offset(getTime(), zone(), datePart, offset);
+    }
+
+    /**
+     * 复制为新的DateTime，保留时区、可变性、一周的第一天及第一周最少天数，仅替换时间
+     *
+     * @param millis 新对象的毫秒数
+     * @return 新的DateTime
+     */
+    public DateTime copyWith(long millis) {
+        final DateTime copy = new DateTime(millis, this.timeZone);
+        copy.mutable = this.mutable;
+        copy.firstDayOfWeek = this.firstDayOfWeek;
+        copy.minimalDaysInFirstWeek = this.minimalDaysInFirstWeek;
+        return copy;
     }
     // -------------------------------------------------------------------- offset end
 
@@ -380,7 +404,15 @@ public class DateTime extends Date {
      * @return 某个部分的值
      */
     public int getField(int field) {
-        return toCalendar().get(field);
+        final long millis = getTime();
+        final TimeZone zone = zone();
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        FieldCache cache = this.fieldCache;
+        if (null == cache || !cache.isValid(millis, zone, locale)) {
+            cache = new FieldCache(millis, zone, locale);
+            this.fieldCache = cache;
+        }
+        return cache.get(this, field);
     }
 
     /**
@@ -404,26 +436,22 @@ public class DateTime extends Date {
      * @return this
      */
     public DateTime setField(int field, int value) {
-        final Calendar calendar = toCalendar();
-        calendar.set(field, value);
-
-        DateTime dt = this;
-        if (!mutable) {
-            try {
-                Method cloneMethod = getClass().getDeclaredMethod("clone");
-                cloneMethod.setAccessible(true);
-                dt = (DateTime) cloneMethod.invoke(this);
-            } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
+        final long millis;
+        final Calendar calendar = acquireCalendar();
+        try {
+            calendar.set(field, value);
+            millis = calendar.getTimeInMillis();
+        } finally {
+            CalendarPool.release(calendar);
         }
-        return dt.setTimeInternal(calendar.getTimeInMillis());
+        return mutable ? setTimeInternal(millis) : copyWith(millis);
     }
 
     @Override
     public void setTime(long time) {
         if (mutable) {
             super.setTime(time);
+            this.fieldCache = null;
         } else {
             throw new DateException("This is not a mutable object !");
         }
@@ -885,6 +913,7 @@ public class DateTime extends Date {
      */
     public DateTime setFirstDayOfWeek(Week firstDayOfWeek) {
         this.firstDayOfWeek = firstDayOfWeek;
+        this.fieldCache = null;
         return this;
     }
 
@@ -924,6 +953,7 @@ public class DateTime extends Date {
             result = timeZone;
         }
         this.timeZone = result;
+        this.fieldCache = null;
         return this;
     }
 
@@ -936,6 +966,7 @@ public class DateTime extends Date {
      */
     public DateTime setMinimalDaysInFirstWeek(int minimalDaysInFirstWeek) {
         this.minimalDaysInFirstWeek = minimalDaysInFirstWeek;
+        this.fieldCache = null;
         return this;
     }
 
@@ -998,7 +1029,7 @@ public class DateTime extends Date {
      */
     public String toString(TimeZone timeZone) {
         if (null != timeZone) {
-            return toString(DateUtil.newSimpleFormat(DatePattern.NORM_DATETIME_PATTERN, null, timeZone));
+            return DateUtil.format(this, DatePattern.NORM_DATETIME_PATTERN, timeZone);
         }
         return toString(DatePattern.NORM_DATETIME_FORMAT);
     }
@@ -1011,7 +1042,7 @@ public class DateTime extends Date {
      */
     public String toDateStr() {
         if (null != this.timeZone) {
-            return toString(DateUtil.newSimpleFormat(DatePattern.NORM_DATE_PATTERN, null, timeZone));
+            return DateUtil.format(this, DatePattern.NORM_DATE_PATTERN, timeZone);
         }
         return toString(DatePattern.NORM_DATE_FORMAT);
     }
@@ -1024,7 +1055,7 @@ public class DateTime extends Date {
      */
     public String toTimeStr() {
         if (null != this.timeZone) {
-            return toString(DateUtil.newSimpleFormat(DatePattern.NORM_TIME_PATTERN, null, timeZone));
+            return DateUtil.format(this, DatePattern.NORM_TIME_PATTERN, timeZone);
         }
         return toString(DatePattern.NORM_TIME_FORMAT);
     }
@@ -1037,7 +1068,7 @@ public class DateTime extends Date {
      */
     public String toString(String format) {
         if (null != this.timeZone) {
-            return toString(DateUtil.newSimpleFormat(format, null, timeZone));
+            return DateUtil.format(this, format, timeZone);
         }
         return toString(FastDateFormat.getInstance(format));
     }
@@ -1110,7 +1141,7 @@ public class DateTime extends Date {
      * @param dateStr 日期字符串
      * @param parser  {@link FastDateFormat}
      * @param lenient 是否宽容模式
-     * @return {@link Calendar}
+     * @return {@link Calendar}，借自{@link CalendarPool}，使用完毕后需归还
      */
     private static Calendar parse(CharSequence dateStr, DateParser parser, boolean lenient) {
         if (null == parser) {
@@ -1129,13 +1160,19 @@ public class DateTime extends Date {
         if (blank) {
             throw new IllegalArgumentException(DateUtil.format("Date String must be not blank !"));
         }
-        final Calendar calendar = CalendarUtil.parse(dateStr, lenient, parser);
-        if (null == calendar) {
+        final Calendar calendar = CalendarPool.acquire(parser.getTimeZone(), parser.getLocale());
+        boolean parsed = false;
+        try {
+            calendar.setLenient(lenient);
+            parsed = parser.parse(dateStr.toString(), new ParsePosition(0), calendar);
+        } finally {
+            if (!parsed) {
+                CalendarPool.release(calendar);
+            }
+        }
+        if (!parsed) {
             throw new DateException("Parse [{}] with format [{}] error!", dateStr, parser.getPattern());
         }
-
-        //noinspection MagicConstant
-        calendar.setFirstDayOfWeek(Week.MONDAY.getValue());
         return calendar;
     }
 
@@ -1147,6 +1184,93 @@ public class DateTime extends Date {
      */
     private DateTime setTimeInternal(long time) {
         super.setTime(time);
+        this.fieldCache = null;
         return this;
     }
+
+    /**
+     * 计算使用的时区，未设置时区时使用默认时区的快照，不复制默认时区
+     *
+     * @return 时区
+     */
+    private TimeZone zone() {
+        return null == timeZone ? DefaultTimeZone.get() : timeZone;
+    }
+
+    /**
+     * 借出与{@link #toCalendar()}设置相同的Calendar，仅用于方法内的临时计算，使用完毕后需归还{@link CalendarPool}
+     *
+     * @return Calendar
+     */
+    private Calendar acquireCalendar() {
+        return acquireCalendar(zone());
+    }
+
+    /**
+     * 借出使用给定时区的Calendar，其余设置同{@link #acquireCalendar()}
+     *
+     * @param zone 时区
+     * @return Calendar
+     */
+    private Calendar acquireCalendar(TimeZone zone) {
+        final Calendar cal = CalendarPool.acquire(zone, Locale.getDefault(Locale.Category.FORMAT));
+        //noinspection MagicConstant
+        cal.setFirstDayOfWeek(firstDayOfWeek.getValue());
+        if (minimalDaysInFirstWeek > 0) {
+            cal.setMinimalDaysInFirstWeek(minimalDaysInFirstWeek);
+        }
+        cal.setTimeInMillis(getTime());
+        return cal;
+    }
+
+    /**
+     * 按时区和地区计算的字段缓存，同一毫秒数的字段只计算一次<br>
+     * 与周无关的字段由时区偏移表直接计算，其余字段首次读取时由Calendar一次性计算全部字段
+     */
+    private static final class FieldCache {
+        private final long millis;
+        private final TimeZone zone;
+        private final Locale locale;
+        /**
+         * 由时区偏移表计算的字段，不在表中或非格里高利历时为{@code null}
+         */
+        private final DateFields fields;
+        /**
+         * 全部Calendar字段，按字段下标存放
+         */
+        private volatile int[] values;
+
+        FieldCache(long millis, TimeZone zone, Locale locale) {
+            this.millis = millis;
+            this.zone = zone;
+            this.locale = locale;
+            final ZoneOffsetTable table = CalendarPool.isGregorian(locale) ? ZoneOffsetTable.of(zone) : null;
+            this.fields = null == table ? null : table.toFields(millis);
+        }
+
+        boolean isValid(long millis, TimeZone zone, Locale locale) {
+            return this.millis == millis && this.locale == locale && (this.zone == zone || this.zone.equals(zone));
+        }
+
+        int get(DateTime dateTime, int field) {
+            if (null != fields && DateFields.isSupported(field)) {
+                return fields.get(field);
+            }
+            int[] values = this.values;
+            if (null == values) {
+                values = new int[Calendar.FIELD_COUNT];
+                // 使用填充缓存时确定的时区
+                final Calendar calendar = dateTime.acquireCalendar(zone);
+                try {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = calendar.get(i);
+                    }
+                } finally {
+                    CalendarPool.release(calendar);
+                }
+                this.values = values;
+            }
+            return values[field];
+        }
+    }
 }
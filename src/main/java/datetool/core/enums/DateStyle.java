@@ -1,5 +1,16 @@
 package datetool.core.enums;
 
+import datetool.core.format.DefaultTimeZone;
+import datetool.core.format.FastDateFormat;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 常用日期格式<br>
+ * 每个格式预先创建{@link DateTimeFormatter}，并缓存默认时区下的{@link FastDateFormat}，格式化和解析时无需重复解析格式
+ */
 public enum DateStyle {
 
     //    Time
@@ -45,12 +56,63 @@ public enum DateStyle {
     YYYYMMDDHHMMSS("yyyyMMddHHmmss");
 
     private final String value;
+    /**
+     * 不含时区，线程安全
+     */
+    private final DateTimeFormatter formatter;
+    /**
+     * 默认时区和地区下的格式化器，默认时区快照或地区变化时重建
+     */
+    private volatile DefaultFormat defaultFormat;
 
     DateStyle(String value) {
         this.value = value;
+        this.formatter = DateTimeFormatter.ofPattern(value);
     }
 
     public String getValue() {
         return value;
     }
+
+    /**
+     * 获取预先创建的{@link DateTimeFormatter}，不含时区
+     *
+     * @return {@link DateTimeFormatter}
+     */
+    public DateTimeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * 获取默认时区和地区下的{@link FastDateFormat}，可用于格式化和解析<br>
+     * 默认时区取{@link DefaultTimeZone}的快照，与构建时为同一对象且地区未变时直接返回，不复制默认时区
+     *
+     * @return {@link FastDateFormat}
+     */
+    public FastDateFormat getFastDateFormat() {
+        final TimeZone timeZone = DefaultTimeZone.get();
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        DefaultFormat cached = this.defaultFormat;
+        if (null == cached || cached.timeZone != timeZone || cached.locale != locale) {
+            // 时区传null，由FastDateFormat按同一快照查询，实例持有副本
+            cached = new DefaultFormat(timeZone, locale, FastDateFormat.getInstance(value, locale));
+            this.defaultFormat = cached;
+        }
+        return cached.format;
+    }
+
+    /**
+     * 格式化器及构建时使用的默认时区快照和地区
+     */
+    private static final class DefaultFormat {
+        private final TimeZone timeZone;
+        private final Locale locale;
+        private final FastDateFormat format;
+
+        DefaultFormat(TimeZone timeZone, Locale locale, FastDateFormat format) {
+            this.timeZone = timeZone;
+            this.locale = locale;
+            this.format = format;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+package datetool.core.format;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 将byte[]或{@link ByteBuffer}中的一段ASCII字节视为{@link CharSequence}，不复制数据<br>
+ * 非ASCII字节按单字节读取，只会导致定长布局不匹配；常规解析前通过{@link #decode()}判断，
+ * 全部为ASCII时直接按字节解析，否则按UTF-8解码。
+ *
+ * @see FixedDateParser
+ */
+class ByteSequence implements CharSequence {
+
+	private final byte[] array;
+	private final ByteBuffer buffer;
+	private final int offset;
+	private final int length;
+
+	ByteSequence(byte[] array, ByteBuffer buffer, int offset, int length) {
+		this.array = array;
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/**
+	 * 包装byte[]中的一段
+	 *
+	 * @param source 字节数组
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return 字符序列
+	 * @throws IndexOutOfBoundsException 范围超出数组
+	 */
+	static ByteSequence of(byte[] source, int offset, int length) {
+		checkRange(offset, length, source.length);
+		return new ByteSequence(source, null, offset, length);
+	}
+
+	/**
+	 * 包装{@link ByteBuffer}中的一段，使用绝对位置读取，不改变position，堆内和直接内存均可
+	 *
+	 * @param source 缓冲区
+	 * @param offset 起始位置（绝对位置）
+	 * @param length 长度
+	 * @return 字符序列
+	 * @throws IndexOutOfBoundsException 范围超出limit
+	 */
+	static ByteSequence of(ByteBuffer source, int offset, int length) {
+		checkRange(offset, length, source.limit());
+		if (source.hasArray()) {
+			return new ByteSequence(source.array(), null, source.arrayOffset() + offset, length);
+		}
+		return new ByteSequence(null, source, offset, length);
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+		}
+		return (char) ((null != array ? array[offset + index] : buffer.get(offset + index)) & 0xFF);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || start > end || end > length) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length);
+		}
+		return new ByteSequence(array, buffer, offset + start, end - start);
+	}
+
+	/**
+	 * 全部为ASCII字节时返回自身，按字节读取即为正确的字符；否则按UTF-8解码为字符串
+	 *
+	 * @return 字符序列
+	 */
+	CharSequence decode() {
+		for (int i = 0; i < length; i++) {
+			if ((null != array ? array[offset + i] : buffer.get(offset + i)) < 0) {
+				return toString();
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		if (null != array) {
+			return new String(array, offset, length, StandardCharsets.UTF_8);
+		}
+		final byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void checkRange(int offset, int length, int size) {
+		if (offset < 0 || length < 0 || offset > size - length) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", size: " + size);
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package datetool.core.format;
+
+import datetool.core.DateException;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 按秒缓存格式化结果的{@link FastDatePrinter}，适用于日志时间戳等高频格式化当前时间的场景<br>
+ * 缓存最近一秒的格式化结果，同一秒内的时间只改写毫秒字段的数字，其余部分直接复制。
+ * 缓存以不可变快照的方式通过volatile整体替换，不加锁；时间早于缓存的秒时不替换缓存，避免乱序的时间来回替换。
+ *
+ * <p>
+ * 毫秒字段为S或SS（宽度随数值变化）时不使用缓存，与{@link FastDatePrinter}相同；格式化{@link java.util.Calendar}不使用缓存。
+ *
+ * @see FastDateFormat#getSecondCachedInstance(String, TimeZone, Locale)
+ */
+public class CachedDatePrinter extends FastDatePrinter {
+	private static final long serialVersionUID = 3254906357165410215L;
+
+	/**
+	 * 毫秒字段的数量，-1表示毫秒字段宽度不固定，不使用缓存
+	 */
+	private final int millisecondFields;
+	private transient volatile Snapshot snapshot;
+
+	/**
+	 * 构造
+	 *
+	 * @param pattern  使用{@link java.text.SimpleDateFormat} 相同的日期格式
+	 * @param timeZone 非空时区{@link TimeZone}
+	 * @param locale   非空{@link Locale} 日期地理位置
+	 */
+	public CachedDatePrinter(String pattern, TimeZone timeZone, Locale locale) {
+		super(pattern, timeZone, locale);
+		millisecondFields = getMillisecondFieldCount();
+	}
+
+	@Override
+	public String format(long millis) {
+		final Snapshot snapshot = snapshotOf(millis);
+		if (null == snapshot) {
+			return super.format(millis);
+		}
+		final char[] chars = snapshot.chars.clone();
+		snapshot.writeMillis(chars, 0, millis);
+		return new String(chars);
+	}
+
+	@Override
+	public <B extends Appendable> B format(long millis, B buf) {
+		final Snapshot snapshot = snapshotOf(millis);
+		if (null == snapshot) {
+			return super.format(millis, buf);
+		}
+		final int value = (int) Math.floorMod(millis, 1000L);
+		try {
+			int start = 0;
+			for (int end : snapshot.ends) {
+				buf.append(snapshot.text, start, end - 3);
+				buf.append((char) (value / 100 + '0'));
+				buf.append((char) (value / 10 % 10 + '0'));
+				buf.append((char) (value % 10 + '0'));
+				start = end;
+			}
+			buf.append(snapshot.text, start, snapshot.chars.length);
+		} catch (final IOException e) {
+			throw new DateException(e);
+		}
+		return buf;
+	}
+
+	@Override
+	public <B extends Appendable> B formatAll(long[] millis, int from, int to, B out, char separator) {
+		if (millisecondFields < 0) {
+			return super.formatAll(millis, from, to, out, separator);
+		}
+		if (from < 0 || to > millis.length || from > to) {
+			throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + millis.length);
+		}
+		try {
+			for (int i = from; i < to; i++) {
+				if (i > from) {
+					out.append(separator);
+				}
+				format(millis[i], out);
+			}
+		} catch (final IOException e) {
+			throw new DateException(e);
+		}
+		return out;
+	}
+
+	@Override
+	public int formatInto(long millis, char[] dest, int offset) {
+		final Snapshot snapshot = snapshotOf(millis);
+		if (null == snapshot) {
+			return super.formatInto(millis, dest, offset);
+		}
+		if (offset < 0 || offset > dest.length) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + dest.length);
+		}
+		final int length = snapshot.chars.length;
+		if (offset + length > dest.length) {
+			throw new ArrayIndexOutOfBoundsException(offset + length);
+		}
+		System.arraycopy(snapshot.chars, 0, dest, offset, length);
+		snapshot.writeMillis(dest, offset, millis);
+		return offset + length;
+	}
+
+	@Override
+	public int formatTo(long millis, ByteBuffer buffer) {
+		final Snapshot snapshot = snapshotOf(millis);
+		if (null == snapshot || !snapshot.ascii) {
+			return super.formatTo(millis, buffer);
+		}
+		final char[] chars = snapshot.chars;
+		if (buffer.remaining() < chars.length) {
+			throw new BufferOverflowException();
+		}
+		final int start = buffer.position();
+		for (char c : chars) {
+			buffer.put((byte) c);
+		}
+		final int value = (int) Math.floorMod(millis, 1000L);
+		for (int end : snapshot.ends) {
+			buffer.put(start + end - 3, (byte) (value / 100 + '0'));
+			buffer.put(start + end - 2, (byte) (value / 10 % 10 + '0'));
+			buffer.put(start + end - 1, (byte) (value % 10 + '0'));
+		}
+		return chars.length;
+	}
+
+	/**
+	 * 获取给定时间所在秒的快照，未命中时重新格式化
+	 *
+	 * @param millis 毫秒数
+	 * @return 快照，不使用缓存时返回{@code null}
+	 */
+	private Snapshot snapshotOf(long millis) {
+		if (millisecondFields < 0) {
+			return null;
+		}
+		final long second = Math.floorDiv(millis, 1000L);
+		final Snapshot cached = this.snapshot;
+		if (null != cached && cached.second == second) {
+			return cached;
+		}
+		final int[] ends = new int[millisecondFields];
+		final Snapshot created = new Snapshot(second, formatWithMillisecondEnds(second * 1000L, ends), ends);
+		if (null == cached || second > cached.second) {
+			this.snapshot = created;
+		}
+		return created;
+	}
+
+	/**
+	 * 一秒内的格式化结果，毫秒字段为0
+	 */
+	private static final class Snapshot {
+		final long second;
+		final String text;
+		final char[] chars;
+		/**
+		 * 各毫秒字段的结束位置，字段的最后三位为毫秒数
+		 */
+		final int[] ends;
+		final boolean ascii;
+
+		Snapshot(long second, String text, int[] ends) {
+			this.second = second;
+			this.text = text;
+			this.chars = text.toCharArray();
+			this.ends = ends;
+			boolean ascii = true;
+			for (char c : chars) {
+				if (c >= 0x80) {
+					ascii = false;
+					break;
+				}
+			}
+			this.ascii = ascii;
+		}
+
+		void writeMillis(char[] dest, int offset, long millis) {
+			final int value = (int) Math.floorMod(millis, 1000L);
+			for (int end : ends) {
+				dest[offset + end - 3] = (char) (value / 100 + '0');
+				dest[offset + end - 2] = (char) (value / 10 % 10 + '0');
+				dest[offset + end - 1] = (char) (value % 10 + '0');
+			}
+		}
+	}
+}
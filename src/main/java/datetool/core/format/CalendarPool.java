@@ -0,0 +1,324 @@
+package datetool.core.format;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link Calendar}对象池<br>
+ * 按（时区, 地区）复用{@link GregorianCalendar}，避免每次格式化或解析时创建Calendar。借出的Calendar已清空所有字段（同{@link Calendar#clear()}），
+ * 时区、宽容模式及周设置与新建时一致，使用完毕后需调用{@link #release(Calendar)}归还，归还后不可再使用，因此只适用于不会传出方法之外的临时Calendar。
+ *
+ * <p>
+ * 支持以下几种模式，见{@link Mode}：
+ * <ul>
+ *     <li>{@link Mode#THREAD_LOCAL}：每个线程缓存少量Calendar，适用于平台线程（默认）</li>
+ *     <li>{@link Mode#STRIPED}：全局定长的分段池，缓存数量有上限，不随线程数增长，适用于虚拟线程</li>
+ *     <li>{@link Mode#NONE}：不复用，每次新建</li>
+ * </ul>
+ * 默认模式可通过系统属性{@code datetool.calendarPool}（取值为模式名称）设置，运行时可通过{@link #setMode(Mode)}修改。
+ *
+ * <pre>
+ * final Calendar calendar = CalendarPool.acquire(timeZone, locale);
+ * try {
+ *     // 使用calendar
+ * } finally {
+ *     CalendarPool.release(calendar);
+ * }
+ * </pre>
+ *
+ * @see FastDateParser
+ * @see FastDatePrinter
+ */
+public final class CalendarPool {
+
+	/**
+	 * 池模式
+	 */
+	public enum Mode {
+		/**
+		 * 每个线程独立缓存
+		 */
+		THREAD_LOCAL,
+		/**
+		 * 全局分段池，缓存数量有上限
+		 */
+		STRIPED,
+		/**
+		 * 不复用
+		 */
+		NONE
+	}
+
+	/**
+	 * 每个线程缓存的Calendar数量
+	 */
+	private static final int THREAD_CAPACITY = 4;
+	/**
+	 * 分段池的段数，CPU核数的4倍，为2的幂，最多256
+	 */
+	private static final int STRIPES = Math.min(256, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+
+	private static final ThreadLocal<PooledCalendar[]> THREAD_POOL = ThreadLocal.withInitial(() -> new PooledCalendar[THREAD_CAPACITY]);
+	private static final AtomicReferenceArray<PooledCalendar> STRIPED_POOL = new AtomicReferenceArray<>(STRIPES);
+
+	private static volatile Mode mode = defaultMode();
+
+	private CalendarPool() {
+	}
+
+	/**
+	 * 获取当前模式
+	 *
+	 * @return 模式
+	 */
+	public static Mode getMode() {
+		return mode;
+	}
+
+	/**
+	 * 设置模式，只影响之后借出的Calendar
+	 *
+	 * @param mode 模式，{@code null}表示{@link Mode#NONE}
+	 */
+	public static void setMode(Mode mode) {
+		CalendarPool.mode = null == mode ? Mode.NONE : mode;
+	}
+
+	/**
+	 * 借出一个已清空的Calendar，等同于{@link Calendar#getInstance(TimeZone, Locale)}后调用{@link Calendar#clear()}<br>
+	 * 地区使用非格里高利历（如泰国佛历、日本和历）时不复用
+	 *
+	 * @param timeZone 时区
+	 * @param locale   地区
+	 * @return Calendar，使用完毕后调用{@link #release(Calendar)}归还
+	 */
+	public static Calendar acquire(TimeZone timeZone, Locale locale) {
+		switch (mode) {
+			case THREAD_LOCAL:
+				return acquireThreadLocal(timeZone, locale);
+			case STRIPED:
+				return acquireStriped(timeZone, locale);
+			default:
+				return newCalendar(timeZone, locale);
+		}
+	}
+
+	/**
+	 * 归还{@link #acquire(TimeZone, Locale)}借出的Calendar，非池中对象忽略
+	 *
+	 * @param calendar Calendar，可以为{@code null}
+	 */
+	public static void release(Calendar calendar) {
+		if (!(calendar instanceof PooledCalendar)) {
+			return;
+		}
+		final PooledCalendar pooled = (PooledCalendar) calendar;
+		if (pooled.stripe < 0) {
+			pooled.inUse = false;
+		} else {
+			STRIPED_POOL.compareAndSet(pooled.stripe, null, pooled);
+		}
+	}
+
+	private static Calendar acquireThreadLocal(TimeZone timeZone, Locale locale) {
+		final PooledCalendar[] calendars = THREAD_POOL.get();
+		int free = -1;
+		for (int i = 0; i < THREAD_CAPACITY; i++) {
+			final PooledCalendar calendar = calendars[i];
+			if (null == calendar) {
+				if (free < 0) {
+					free = i;
+				}
+			} else if (!calendar.inUse) {
+				if (calendar.matches(timeZone, locale)) {
+					calendar.inUse = true;
+					return calendar.reset();
+				}
+				if (free < 0) {
+					free = i;
+				}
+			}
+		}
+
+		final PooledCalendar calendar = PooledCalendar.create(timeZone, locale, -1);
+		if (null == calendar) {
+			return newCalendar(timeZone, locale);
+		}
+		// 槽位均在使用中（嵌套借出）时不缓存，归还时仅标记
+		if (free >= 0) {
+			calendars[free] = calendar;
+		}
+		calendar.inUse = true;
+		return calendar;
+	}
+
+	private static Calendar acquireStriped(TimeZone timeZone, Locale locale) {
+		int hash = timeZone.getID().hashCode() * 31 + locale.hashCode();
+		hash ^= (int) Thread.currentThread().getId() * 0x9E3779B9;
+		final int stripe = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+
+		final PooledCalendar calendar = STRIPED_POOL.getAndSet(stripe, null);
+		if (null != calendar) {
+			if (calendar.matches(timeZone, locale)) {
+				return calendar.reset();
+			}
+			// 不匹配时放回，留给同一段上的其它调用
+			STRIPED_POOL.compareAndSet(stripe, null, calendar);
+		}
+		final PooledCalendar created = PooledCalendar.create(timeZone, locale, stripe);
+		return null == created ? newCalendar(timeZone, locale) : created;
+	}
+
+	/**
+	 * {@link Calendar#getInstance(TimeZone, Locale)}是否可确定为格里高利历，指定了日历类型（"ca"扩展）的地区均视为否
+	 *
+	 * @param locale 地区
+	 * @return 是否格里高利历
+	 */
+	public static boolean isGregorian(Locale locale) {
+		return null == locale.getUnicodeLocaleType("ca")
+				&& !("th".equals(locale.getLanguage()) && "TH".equals(locale.getCountry()))
+				&& !("ja".equals(locale.getLanguage()) && "JP".equals(locale.getCountry()) && "JP".equals(locale.getVariant()));
+	}
+
+	/**
+	 * 检查{@link Calendar}中已设置的字段是否均未越界，用于代替非宽容模式下{@link Calendar#getTimeInMillis()}的校验<br>
+	 * 与{@link GregorianCalendar}的非宽容模式相同：按宽容模式计算时间后，已设置的字段值应保持不变。
+	 * 池中的Calendar直接比较字段，不抛出异常；其它Calendar复制后按非宽容模式计算。
+	 * 调用后Calendar为宽容模式。
+	 *
+	 * @param calendar 已设置字段、尚未计算时间的Calendar
+	 * @return 是否有效
+	 */
+	public static boolean isValidFields(Calendar calendar) {
+		if (calendar instanceof PooledCalendar) {
+			return ((PooledCalendar) calendar).isValidFields();
+		}
+		final Calendar copy = (Calendar) calendar.clone();
+		copy.setLenient(false);
+		calendar.setLenient(true);
+		try {
+			copy.getTimeInMillis();
+			return true;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	private static Calendar newCalendar(TimeZone timeZone, Locale locale) {
+		final Calendar calendar = Calendar.getInstance(timeZone, locale);
+		calendar.clear();
+		return calendar;
+	}
+
+	private static Mode defaultMode() {
+		final String value = System.getProperty("datetool.calendarPool");
+		if (null != value) {
+			for (Mode m : Mode.values()) {
+				if (m.name().equalsIgnoreCase(value.trim())) {
+					return m;
+				}
+			}
+		}
+		return Mode.THREAD_LOCAL;
+	}
+
+	/**
+	 * 池中的Calendar，记录创建时的时区和地区，用于匹配及重置
+	 */
+	private static final class PooledCalendar extends GregorianCalendar {
+		private static final long serialVersionUID = 1L;
+
+		private final TimeZone zone;
+		private final Locale locale;
+		private final int firstDayOfWeek;
+		private final int minimalDaysInFirstWeek;
+		/**
+		 * 所在分段，线程缓存为-1
+		 */
+		private final int stripe;
+		/**
+		 * 线程缓存中是否已借出
+		 */
+		private boolean inUse;
+		/**
+		 * 借出期间是否修改过时区
+		 */
+		private boolean zoneChanged;
+
+		/**
+		 * 创建，仅当{@link Calendar#getInstance(TimeZone, Locale)}对应格里高利历时
+		 *
+		 * @param zone   时区
+		 * @param locale 地区
+		 * @param stripe 所在分段，线程缓存为-1
+		 * @return 池中的Calendar，非格里高利历返回{@code null}
+		 */
+		static PooledCalendar create(TimeZone zone, Locale locale, int stripe) {
+			if (!isGregorian(locale)) {
+				return null;
+			}
+			return new PooledCalendar(zone, locale, stripe);
+		}
+
+		private PooledCalendar(TimeZone zone, Locale locale, int stripe) {
+			super(zone, locale);
+			this.zone = zone;
+			this.locale = locale;
+			this.firstDayOfWeek = getFirstDayOfWeek();
+			this.minimalDaysInFirstWeek = getMinimalDaysInFirstWeek();
+			this.stripe = stripe;
+			this.zoneChanged = false;
+			clear();
+		}
+
+		boolean matches(TimeZone zone, Locale locale) {
+			return (this.zone == zone || this.zone.equals(zone)) && this.locale.equals(locale);
+		}
+
+		/**
+		 * 重置时区、宽容模式及周设置，并清空所有字段
+		 *
+		 * @return this
+		 */
+		PooledCalendar reset() {
+			if (zoneChanged) {
+				super.setTimeZone(zone);
+				zoneChanged = false;
+			}
+			setLenient(true);
+			setFirstDayOfWeek(firstDayOfWeek);
+			setMinimalDaysInFirstWeek(minimalDaysInFirstWeek);
+			clear();
+			return this;
+		}
+
+		boolean isValidFields() {
+			int setMask = 0;
+			final int[] values = new int[FIELD_COUNT];
+			for (int field = 0; field < FIELD_COUNT; field++) {
+				if (isSet(field)) {
+					setMask |= 1 << field;
+					values[field] = internalGet(field);
+				}
+			}
+			setLenient(true);
+			complete();
+			for (int field = 0; field < FIELD_COUNT; field++) {
+				if ((setMask & 1 << field) != 0 && internalGet(field) != values[field]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void setTimeZone(TimeZone value) {
+			super.setTimeZone(value);
+			zoneChanged = true;
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package datetool.core.format;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+/**
+ * 由毫秒数直接计算出的本地日期时间各字段，取值含义与{@link Calendar}中对应字段一致（月份除外，从1开始）<br>
+ * 仅适用于1583年之后的格里高利历日期，时区偏移见{@link ZoneOffsetTable}
+ *
+ * @see FastDatePrinter
+ * @see ZoneOffsetTable#toFields(long)
+ */
+public final class DateFields {
+	private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+	/**
+	 * 公元0年1月1日到1970年1月1日的天数
+	 */
+	private static final long DAYS_0000_TO_1970 = 719528L;
+	/**
+	 * 400年的天数
+	 */
+	private static final long DAYS_PER_CYCLE = 146097L;
+	/**
+	 * 1583-01-01距1970-01-01的天数，之前的日期涉及儒略历，交由Calendar处理
+	 */
+	private static final long MIN_EPOCH_DAY = -141427L;
+	/**
+	 * 平年各月之前的天数
+	 */
+	private static final int[] DAYS_BEFORE_MONTH = {0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+	int year;
+	int month;
+	int day;
+	int dayOfYear;
+	int dayOfWeek;
+	int hour;
+	int minute;
+	int second;
+	int millisecond;
+	int offset;
+	int dstOffset;
+	/**
+	 * 日期部分对应的本地日期距1970-01-01的天数，同一天内重复计算时只更新时间部分
+	 */
+	private long epochDay = Long.MIN_VALUE;
+
+	DateFields() {
+	}
+
+	/**
+	 * 使用整数运算将本地时间毫秒数拆分为各字段
+	 *
+	 * @param localMillis 本地时间毫秒数（UTC毫秒数加时区偏移）
+	 * @param offset      时区总偏移
+	 * @param dstOffset   夏令时偏移
+	 * @return 日期字段，早于1583年时返回{@code null}
+	 */
+	public static DateFields of(long localMillis, int offset, int dstOffset) {
+		final DateFields fields = new DateFields();
+		return fields.set(localMillis, offset, dstOffset) ? fields : null;
+	}
+
+	/**
+	 * 重新计算各字段，用于批量格式化时复用同一对象
+	 *
+	 * @param localMillis 本地时间毫秒数（UTC毫秒数加时区偏移）
+	 * @param offset      时区总偏移
+	 * @param dstOffset   夏令时偏移
+	 * @return 是否计算成功，早于1583年时返回{@code false}，各字段保持不变
+	 */
+	boolean set(long localMillis, int offset, int dstOffset) {
+		final long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+		if (epochDay < MIN_EPOCH_DAY) {
+			return false;
+		}
+		if (epochDay != this.epochDay) {
+			setDate(epochDay);
+		}
+		final int millisOfDay = (int) (localMillis - epochDay * MILLIS_PER_DAY);
+		this.hour = millisOfDay / 3600000;
+		this.minute = millisOfDay / 60000 % 60;
+		this.second = millisOfDay / 1000 % 60;
+		this.millisecond = millisOfDay % 1000;
+		this.offset = offset;
+		this.dstOffset = dstOffset;
+		return true;
+	}
+
+	private void setDate(long epochDay) {
+		// 以3月1日为年初计算，闰日位于年末
+		final long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+		long year = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+		long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+		if (dayOfYear < 0) {
+			year--;
+			dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+		}
+		final int marchMonth = (int) (dayOfYear * 5 + 2) / 153;
+		final int month = (marchMonth + 2) % 12 + 1;
+		final int day = (int) dayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+		year += marchMonth / 10;
+
+		this.year = (int) year;
+		this.month = month;
+		this.day = day;
+		this.dayOfYear = DAYS_BEFORE_MONTH[month - 1] + day + (month > 2 && isLeapYear(this.year) ? 1 : 0);
+		// 1970-01-01为星期四
+		this.dayOfWeek = (int) Math.floorMod(epochDay + 4, 7L) + Calendar.SUNDAY;
+		this.epochDay = epochDay;
+	}
+
+	/**
+	 * 是否支持给定的{@link Calendar}字段
+	 *
+	 * @param field {@link Calendar}字段
+	 * @return 是否支持
+	 */
+	public static boolean isSupported(int field) {
+		switch (field) {
+			case Calendar.ERA:
+			case Calendar.YEAR:
+			case Calendar.MONTH:
+			case Calendar.DAY_OF_MONTH:
+			case Calendar.DAY_OF_YEAR:
+			case Calendar.DAY_OF_WEEK:
+			case Calendar.AM_PM:
+			case Calendar.HOUR:
+			case Calendar.HOUR_OF_DAY:
+			case Calendar.MINUTE:
+			case Calendar.SECOND:
+			case Calendar.MILLISECOND:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * 获取{@link Calendar}字段对应的值
+	 *
+	 * @param field {@link Calendar}字段，见{@link #isSupported(int)}
+	 * @return 值
+	 */
+	public int get(int field) {
+		switch (field) {
+			case Calendar.ERA:
+				return GregorianCalendar.AD;
+			case Calendar.YEAR:
+				return year;
+			case Calendar.MONTH:
+				return month - 1;
+			case Calendar.DAY_OF_MONTH:
+				return day;
+			case Calendar.DAY_OF_YEAR:
+				return dayOfYear;
+			case Calendar.DAY_OF_WEEK:
+				return dayOfWeek;
+			case Calendar.AM_PM:
+				return hour < 12 ? Calendar.AM : Calendar.PM;
+			case Calendar.HOUR:
+				return hour % 12;
+			case Calendar.HOUR_OF_DAY:
+				return hour;
+			case Calendar.MINUTE:
+				return minute;
+			case Calendar.SECOND:
+				return second;
+			case Calendar.MILLISECOND:
+				return millisecond;
+			default:
+				throw new IllegalArgumentException("Unsupported field: " + field);
+		}
+	}
+
+	/**
+	 * 获取周年，与{@link Calendar#getWeekYear()}一致<br>
+	 * 第一周为一年中至少包含minimalDaysInFirstWeek天的第一个完整或不完整的周
+	 *
+	 * @param firstDayOfWeek         一周的第一天，见{@link Calendar#getFirstDayOfWeek()}
+	 * @param minimalDaysInFirstWeek 第一周最少天数，见{@link Calendar#getMinimalDaysInFirstWeek()}
+	 * @return 周年
+	 */
+	public int getWeekYear(int firstDayOfWeek, int minimalDaysInFirstWeek) {
+		// 当前日期所在周的第一天，以本年的第几天表示，可能小于1
+		final int weekStart = dayOfYear - Math.floorMod(dayOfWeek - firstDayOfWeek, 7);
+		// 1月1日在其所在周中的位置
+		final int jan1 = Math.floorMod(dayOfWeek - firstDayOfWeek - (dayOfYear - 1), 7);
+		if (weekStart < firstWeekStart(1, jan1, minimalDaysInFirstWeek)) {
+			return year - 1;
+		}
+		final int lengthOfYear = isLeapYear(year) ? 366 : 365;
+		final int nextJan1 = (jan1 + lengthOfYear) % 7;
+		if (weekStart >= firstWeekStart(lengthOfYear + 1, nextJan1, minimalDaysInFirstWeek)) {
+			return year + 1;
+		}
+		return year;
+	}
+
+	/**
+	 * 计算第一周的第一天
+	 *
+	 * @param jan1Day                1月1日，以本年的第几天表示
+	 * @param jan1InWeek             1月1日在其所在周中的位置，0表示一周的第一天
+	 * @param minimalDaysInFirstWeek 第一周最少天数
+	 * @return 第一周的第一天，以本年的第几天表示
+	 */
+	private static int firstWeekStart(int jan1Day, int jan1InWeek, int minimalDaysInFirstWeek) {
+		final int weekStart = jan1Day - jan1InWeek;
+		return 7 - jan1InWeek >= minimalDaysInFirstWeek ? weekStart : weekStart + 7;
+	}
+
+	private static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+}
@@ -2,8 +2,11 @@ package datetool.core.format;
 
 import java.text.ParseException;
 import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -60,6 +63,64 @@ public interface DateParser {
 		return parse(source, pos);
 	}
 
+	/**
+	 * 解析日期字符串为毫秒数，规则与{@link #parse(String)}相同，解析失败时不抛出异常
+	 *
+	 * @param source 日期字符串，可以为{@code null}
+	 * @return 毫秒数，解析失败返回{@link Long#MIN_VALUE}
+	 */
+	default long tryParse(CharSequence source) {
+		if (null == source) {
+			return Long.MIN_VALUE;
+		}
+		final Date date = parse(source.toString(), new ParsePosition(0));
+		return null == date ? Long.MIN_VALUE : date.getTime();
+	}
+
+	/**
+	 * 批量解析日期字符串为毫秒数，每个字符串的解析规则与{@link #parse(String)}相同<br>
+	 * 整批共用一份解析状态，解析失败时不抛出异常，而是记录在failed中，对应的结果为{@link Long#MIN_VALUE}
+	 *
+	 * @param sources 日期字符串列表，元素可以为{@code null}（视为失败）
+	 * @param result  结果数组，长度不小于sources的大小
+	 * @param failed  记录解析失败的位置，调用时先清除[0, sources.size())范围内的位
+	 * @return 失败的个数
+	 * @throws IndexOutOfBoundsException result长度不足
+	 */
+	default int parseAll(List<? extends CharSequence> sources, long[] result, BitSet failed) {
+		final int size = sources.size();
+		if (result.length < size) {
+			throw new IndexOutOfBoundsException("result length: " + result.length + ", sources size: " + size);
+		}
+		failed.clear(0, size);
+		int failures = 0;
+		for (int i = 0; i < size; i++) {
+			final CharSequence source = sources.get(i);
+			final Date date = null == source ? null : parse(source.toString(), new ParsePosition(0));
+			if (null == date) {
+				failed.set(i);
+				failures++;
+				result[i] = Long.MIN_VALUE;
+			} else {
+				result[i] = date.getTime();
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * 批量解析日期字符串为毫秒数，见{@link #parseAll(List, long[], BitSet)}
+	 *
+	 * @param sources 日期字符串数组，元素可以为{@code null}（视为失败）
+	 * @param result  结果数组，长度不小于sources的长度
+	 * @param failed  记录解析失败的位置
+	 * @return 失败的个数
+	 * @throws IndexOutOfBoundsException result长度不足
+	 */
+	default int parseAll(CharSequence[] sources, long[] result, BitSet failed) {
+		return parseAll(Arrays.asList(sources), result, failed);
+	}
+
     String getPattern();
 
     TimeZone getTimeZone();
@@ -1,5 +1,11 @@
 package datetool.core.format;
 
+import datetool.core.DateException;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -78,6 +84,77 @@ public interface DatePrinter  {
 	 */
 	<B extends Appendable> B format(Calendar calendar, B buf);
 
+	/**
+	 * 批量格式化毫秒数，结果依次写入同一输出，相邻结果之间写入分隔符<br>
+	 * 默认逐个调用{@link #format(long, Appendable)}，实现类可以整批共用计算状态
+	 *
+	 * @param millis    日期毫秒数数组
+	 * @param from      起始位置（包含）
+	 * @param to        结束位置（不包含）
+	 * @param out       输出
+	 * @param separator 分隔符
+	 * @param <B>       输出类型，一般为StringBuilder或Writer
+	 * @return 输出
+	 * @throws IndexOutOfBoundsException from或to超出数组范围
+	 */
+	default <B extends Appendable> B formatAll(long[] millis, int from, int to, B out, char separator) {
+		if (from < 0 || to > millis.length || from > to) {
+			throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + millis.length);
+		}
+		try {
+			for (int i = from; i < to; i++) {
+				if (i > from) {
+					out.append(separator);
+				}
+				format(millis[i], out);
+			}
+		} catch (final IOException e) {
+			throw new DateException(e);
+		}
+		return out;
+	}
+
+	/**
+	 * 格式化毫秒数并写入字符数组<br>
+	 * 默认先调用{@link #format(long)}生成字符串再复制，目标数组剩余空间不足时不写入任何内容
+	 *
+	 * @param millis 日期毫秒数
+	 * @param dest   目标数组
+	 * @param offset 写入的起始位置
+	 * @return 写入结束后的位置，即offset加写入的字符数
+	 * @throws IndexOutOfBoundsException offset超出数组范围或目标数组剩余空间不足
+	 */
+	default int formatInto(long millis, char[] dest, int offset) {
+		if (offset < 0 || offset > dest.length) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + dest.length);
+		}
+		final String formatted = format(millis);
+		final int end = offset + formatted.length();
+		if (end > dest.length) {
+			throw new IndexOutOfBoundsException("required: " + formatted.length() + ", remaining: " + (dest.length - offset));
+		}
+		formatted.getChars(0, formatted.length(), dest, offset);
+		return end;
+	}
+
+	/**
+	 * 格式化毫秒数并按UTF-8写入缓冲区的当前位置，写入后position后移<br>
+	 * 默认先调用{@link #format(long)}生成字符串并编码为字节数组，缓冲区剩余空间不足时不写入任何内容
+	 *
+	 * @param millis 日期毫秒数
+	 * @param buffer 缓冲区，堆内或直接内存
+	 * @return 写入的字节数
+	 * @throws BufferOverflowException 缓冲区剩余空间不足
+	 */
+	default int formatTo(long millis, ByteBuffer buffer) {
+		final byte[] bytes = format(millis).getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > buffer.remaining()) {
+			throw new BufferOverflowException();
+		}
+		buffer.put(bytes);
+		return bytes.length;
+	}
+
     String getPattern();
 
     TimeZone getTimeZone();
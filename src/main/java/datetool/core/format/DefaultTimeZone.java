@@ -0,0 +1,43 @@
+package datetool.core.format;
+
+import java.util.TimeZone;
+
+/**
+ * 默认时区的快照<br>
+ * {@link TimeZone#getDefault()}每次返回一个新的副本，在缓存查询等频繁调用的路径上会产生额外的分配。
+ * 此类在首次使用时读取默认时区，之后返回同一对象，调用方不应修改返回的时区。
+ *
+ * <p>
+ * 运行期间通过{@link TimeZone#setDefault(TimeZone)}修改默认时区后，需调用{@link #refresh()}，
+ * 之后按默认时区获取的格式化器才会使用新的时区。
+ *
+ * @see FastDateFormat
+ * @see MultiPatternParser
+ */
+public final class DefaultTimeZone {
+
+	private static volatile TimeZone zone = TimeZone.getDefault();
+
+	private DefaultTimeZone() {
+	}
+
+	/**
+	 * 获取默认时区的快照，不创建新的对象
+	 *
+	 * @return 默认时区，不可修改
+	 */
+	public static TimeZone get() {
+		return zone;
+	}
+
+	/**
+	 * 重新读取{@link TimeZone#getDefault()}
+	 *
+	 * @return 新的默认时区
+	 */
+	public static TimeZone refresh() {
+		final TimeZone timeZone = TimeZone.getDefault();
+		zone = timeZone;
+		return timeZone;
+	}
+}
@@ -2,13 +2,14 @@ package datetool.core.format;
 
 import datetool.DateUtil;
 
+import java.nio.ByteBuffer;
 import java.text.*;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * <p>
@@ -26,22 +27,38 @@ import java.util.concurrent.ConcurrentMap;
 public class FastDateFormat extends Format implements DateParser, DatePrinter {
 	private static final long serialVersionUID = 8097890768636183236L;
 
-	private static final ConcurrentMap<Object, FastDateFormat> cInstanceCache = new ConcurrentHashMap<>(7);
+	/**
+	 * 默认缓存容量，可通过系统属性{@code datetool.formatCacheCapacity}修改
+	 */
+	private static final int DEFAULT_CACHE_CAPACITY = 1024;
+	private static final FormatCache<CacheKey, FastDateFormat> cInstanceCache = new FormatCache<>(Integer.getInteger("datetool.formatCacheCapacity", DEFAULT_CACHE_CAPACITY));
+	/**
+	 * 每个线程复用的查询键，命中缓存时不创建对象，只有加入缓存时才创建新的键
+	 */
+	private static final ThreadLocal<CacheKey> LOOKUP_KEY = ThreadLocal.withInitial(CacheKey::new);
 
 
 	private final FastDatePrinter printer;
 	private final FastDateParser parser;
+	/**
+	 * 定长格式的快速解析器，非定长格式为{@code null}
+	 */
+	private final FixedDateParser fixedParser;
 
 	/**
 	 * 使用 pattern, time zone and locale 获得对应的 格式化器
 	 *
 	 * @param pattern  非空日期格式，使用与 {@link SimpleDateFormat}相同格式
-	 * @param timeZone 时区，默认当前时区
+	 * @param timeZone 时区，{@code null}表示默认时区，见{@link DefaultTimeZone}
 	 * @param locale   地区，默认使用当前地区
 	 * @return 格式化器
 	 * @throws IllegalArgumentException pattern 无效或{@code null}
 	 */
 	public static FastDateFormat getCacheInstance(final String pattern, TimeZone timeZone, Locale locale) {
+		return getCacheInstance(pattern, timeZone, locale, false);
+	}
+
+	private static FastDateFormat getCacheInstance(final String pattern, TimeZone timeZone, Locale locale, final boolean secondCached) {
 		boolean blank = true;
 		// 判断的时候，并将cs的长度赋给了strLen
 		if (pattern != null && pattern.length() != 0) {// 遍历字符
@@ -55,26 +72,52 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 		if (blank) {
 			throw new IllegalArgumentException(DateUtil.format("pattern must not be blank"));
 		}
-		if (timeZone == null) {
-			timeZone = TimeZone.getDefault();
+		final boolean defaultZone = timeZone == null;
+		if (defaultZone) {
+			// 查询时使用默认时区的快照，TimeZone.getDefault()每次都会复制
+			timeZone = DefaultTimeZone.get();
 		}
 		if (locale == null) {
 			locale = Locale.getDefault();
 		}
-		final Object[] key = new Object[]{pattern, timeZone, locale};
-		FastDateFormat format = cInstanceCache.get(key);
+		final CacheKey lookupKey = LOOKUP_KEY.get().set(pattern, timeZone, locale, secondCached);
+		FastDateFormat format = cInstanceCache.get(lookupKey);
+		// 查询键不持有调用方的对象
+		lookupKey.clear();
 		if (format == null) {
-			format = new FastDateFormat(pattern, timeZone, locale);
-			final FastDateFormat previousValue = cInstanceCache.putIfAbsent(key, format);
+			if (defaultZone) {
+				// 快照为共享对象，实例持有自己的副本
+				timeZone = (TimeZone) timeZone.clone();
+			}
+			format = new FastDateFormat(pattern, timeZone, locale, null, secondCached);
+			final FastDateFormat previousValue = cInstanceCache.putIfAbsent(new CacheKey().set(pattern, timeZone, locale, secondCached), format);
 			if (previousValue != null) {
 				// another thread snuck in and did the same work
-				// we should return the instance that is in ConcurrentMap
+				// we should return the instance that is in the cache
 				format = previousValue;
 			}
 		}
 		return format;
 	}
 
+	/**
+	 * 获取实例缓存的统计数据，包括命中、未命中、淘汰次数及当前大小
+	 *
+	 * @return 统计数据快照
+	 */
+	public static FormatCache.Stats getCacheStats() {
+		return cInstanceCache.getStats();
+	}
+
+	/**
+	 * 设置实例缓存的容量，超出容量时淘汰最近未使用的实例
+	 *
+	 * @param capacity 容量，大于0
+	 */
+	public static void setCacheCapacity(final int capacity) {
+		cInstanceCache.setCapacity(capacity);
+	}
+
 	// -----------------------------------------------------------------------
 
 	/**
@@ -129,6 +172,35 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 		return getCacheInstance(pattern, timeZone, locale);
 	}
 
+	/**
+	 * 获得按秒缓存格式化结果的 FastDateFormat 实例，使用默认时区和地区<br>
+	 * 支持缓存
+	 *
+	 * @param pattern 使用{@link java.text.SimpleDateFormat} 相同的日期格式
+	 * @return FastDateFormat
+	 * @throws IllegalArgumentException 日期格式问题
+	 * @see #getSecondCachedInstance(String, TimeZone, Locale)
+	 */
+	public static FastDateFormat getSecondCachedInstance(final String pattern) {
+		return getCacheInstance(pattern, null, null, true);
+	}
+
+	/**
+	 * 获得按秒缓存格式化结果的 FastDateFormat 实例<br>
+	 * 记住最近一秒的格式化结果，同一秒内只改写毫秒数字，适用于日志时间戳等连续格式化当前时间的场景，
+	 * 格式化结果与{@link #getInstance(String, TimeZone, Locale)}相同，解析不受影响。支持缓存
+	 *
+	 * @param pattern 使用{@link java.text.SimpleDateFormat} 相同的日期格式
+	 * @param timeZone 时区{@link TimeZone}
+	 * @param locale {@link Locale} 日期地理位置
+	 * @return FastDateFormat
+	 * @throws IllegalArgumentException 日期格式问题
+	 * @see CachedDatePrinter
+	 */
+	public static FastDateFormat getSecondCachedInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+		return getCacheInstance(pattern, timeZone, locale, true);
+	}
+
 	// ----------------------------------------------------------------------- Constructor start
 	/**
 	 * 构造
@@ -152,8 +224,22 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 	 * @throws NullPointerException if pattern, timeZone, or locale is null.
 	 */
 	protected FastDateFormat(final String pattern, final TimeZone timeZone, final Locale locale, final Date centuryStart) {
-		printer = new FastDatePrinter(pattern, timeZone, locale);
+		this(pattern, timeZone, locale, centuryStart, false);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param pattern 使用{@link java.text.SimpleDateFormat} 相同的日期格式
+	 * @param timeZone 非空时区 {@link TimeZone}
+	 * @param locale {@link Locale} 日期地理位置
+	 * @param centuryStart 两位年份解析的起始世纪，{@code null}表示当前时间的80年前
+	 * @param secondCached 是否按秒缓存格式化结果
+	 */
+	private FastDateFormat(final String pattern, final TimeZone timeZone, final Locale locale, final Date centuryStart, final boolean secondCached) {
+		printer = secondCached ? new CachedDatePrinter(pattern, timeZone, locale) : new FastDatePrinter(pattern, timeZone, locale);
 		parser = new FastDateParser(pattern, timeZone, locale, centuryStart);
+		fixedParser = FixedDateParser.of(pattern, timeZone, locale);
 	}
 	// ----------------------------------------------------------------------- Constructor end
 
@@ -193,17 +279,118 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 		return printer.format(calendar, buf);
 	}
 
+	@Override
+	public <B extends Appendable> B formatAll(final long[] millis, final int from, final int to, final B out, final char separator) {
+		return printer.formatAll(millis, from, to, out, separator);
+	}
+
+	@Override
+	public int formatInto(final long millis, final char[] dest, final int offset) {
+		return printer.formatInto(millis, dest, offset);
+	}
+
+	@Override
+	public int formatTo(final long millis, final ByteBuffer buffer) {
+		return printer.formatTo(millis, buffer);
+	}
+
 	// ----------------------------------------------------------------------- Parsing
 	@Override
 	public Date parse(final String source) throws ParseException {
+		final long millis = parseFixed(source);
+		if (FixedDateParser.NONE != millis) {
+			return new Date(millis);
+		}
 		return parser.parse(source);
 	}
 
 	@Override
 	public Date parse(final String source, final ParsePosition pos) {
+		if (null != fixedParser) {
+			final long millis = fixedParser.parse(source, pos.getIndex());
+			if (FixedDateParser.NONE != millis) {
+				pos.setIndex(pos.getIndex() + fixedParser.getLength());
+				return new Date(millis);
+			}
+		}
 		return parser.parse(source, pos);
 	}
 
+	@Override
+	public long tryParse(final CharSequence source) {
+		return tryParse(source, true);
+	}
+
+	/**
+	 * 解析日期字符串为毫秒数，规则与{@link #parse(String)}相同，解析失败时不抛出异常
+	 *
+	 * @param source  日期字符串，可以为{@code null}
+	 * @param lenient 是否宽容模式，非宽容模式下字段越界（如2月30日）视为失败
+	 * @return 毫秒数，解析失败返回{@link Long#MIN_VALUE}
+	 */
+	public long tryParse(final CharSequence source, final boolean lenient) {
+		final long millis = parseFixed(source);
+		if (FixedDateParser.NONE != millis) {
+			return millis;
+		}
+		return parser.tryParse(source, lenient);
+	}
+
+	/**
+	 * 解析byte[]中的一段日期字符串，规则与{@link #parse(String)}相同<br>
+	 * 内容全部为ASCII时直接读取字节，不创建字符串；否则按UTF-8解码后解析
+	 *
+	 * @param source 字节数组
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return 毫秒数
+	 * @throws ParseException 解析失败
+	 * @throws IndexOutOfBoundsException 范围超出数组
+	 */
+	public long parse(final byte[] source, final int offset, final int length) throws ParseException {
+		return parse(ByteSequence.of(source, offset, length));
+	}
+
+	/**
+	 * 解析{@link ByteBuffer}中的一段日期字符串，规则与{@link #parse(String)}相同，不改变缓冲区的position<br>
+	 * 内容全部为ASCII时直接读取字节，不创建字符串；否则按UTF-8解码后解析
+	 *
+	 * @param source 缓冲区，堆内或直接内存
+	 * @param offset 起始位置（绝对位置）
+	 * @param length 长度
+	 * @return 毫秒数
+	 * @throws ParseException 解析失败
+	 * @throws IndexOutOfBoundsException 范围超出limit
+	 */
+	public long parse(final ByteBuffer source, final int offset, final int length) throws ParseException {
+		return parse(ByteSequence.of(source, offset, length));
+	}
+
+	long parse(final ByteSequence source) throws ParseException {
+		final long millis = parseFixed(source);
+		if (FixedDateParser.NONE != millis) {
+			return millis;
+		}
+		return parser.parse(source);
+	}
+
+	/**
+	 * 定长格式的快速解析，直接计算毫秒数，不创建{@link Calendar}<br>
+	 * 格式为yyyy-MM-dd HH:mm:ss、yyyyMMddHHmmss等各字段宽度固定的格式，且字符串能按此布局完整解析时有效，
+	 * 否则返回{@link Long#MIN_VALUE}，此时应使用常规的解析方法。
+	 *
+	 * @param source 日期字符串
+	 * @return 毫秒数，无法快速解析时返回{@link Long#MIN_VALUE}
+	 */
+	public long parseFixed(final CharSequence source) {
+		return null == fixedParser ? FixedDateParser.NONE : fixedParser.parse(source, 0);
+	}
+
+	@Override
+	public int parseAll(final List<? extends CharSequence> sources, final long[] result, final BitSet failed) {
+		return parser.parseAll(sources, result, failed, fixedParser);
+	}
+
 	@Override
 	public boolean parse(final String source, final ParsePosition pos, final Calendar calendar) {
 		return parser.parse(source, pos, calendar);
@@ -230,6 +417,15 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 		return printer.getLocale();
 	}
 
+	/**
+	 * 估算格式化结果的最大长度，可用于预先分配{@link #formatInto(long, char[], int)}的目标数组
+	 *
+	 * @return 最大长度估算值
+	 */
+	public int getMaxLengthEstimate() {
+		return printer.getMaxLengthEstimate();
+	}
+
 	// Basics
 	// -----------------------------------------------------------------------
 	@Override
@@ -251,4 +447,48 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
 	public String toString() {
 		return "FastDateFormat[" + printer.getPattern() + "," + printer.getLocale() + "," + printer.getTimeZone().getID() + "]";
 	}
+
+	/**
+	 * 实例缓存的键，按格式、时区、地区及是否按秒缓存的值比较，哈希值在设置时计算一次
+	 */
+	private static final class CacheKey {
+		private String pattern;
+		private TimeZone timeZone;
+		private Locale locale;
+		private boolean secondCached;
+		private int hashCode;
+
+		CacheKey set(final String pattern, final TimeZone timeZone, final Locale locale, final boolean secondCached) {
+			this.pattern = pattern;
+			this.timeZone = timeZone;
+			this.locale = locale;
+			this.secondCached = secondCached;
+			this.hashCode = ((pattern.hashCode() * 31 + timeZone.hashCode()) * 31 + locale.hashCode()) * 31 + (secondCached ? 1 : 0);
+			return this;
+		}
+
+		void clear() {
+			this.pattern = null;
+			this.timeZone = null;
+			this.locale = null;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			final CacheKey other = (CacheKey) obj;
+			return hashCode == other.hashCode && secondCached == other.secondCached && pattern.equals(other.pattern)
+					&& timeZone.equals(other.timeZone) && locale.equals(other.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
 }
@@ -1,13 +1,12 @@
 package datetool.core.format;
 
+import java.nio.ByteBuffer;
 import java.text.DateFormatSymbols;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * {@link java.text.SimpleDateFormat} 的线程安全版本，用于解析日期字符串并转换为 {@link Date} 对象<br>
@@ -30,8 +29,8 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 	// derived fields
 	private transient List<StrategyAndWidth> patterns;
 
-	// comparator used to sort regex alternatives
-	// alternatives should be ordered longer first, and shorter last. ('february' before 'feb')
+	// comparator used to sort text names before they are put into the trie
+	// longer names come first ('february' before 'feb'), names that are equal ignoring case keep the first one.
 	// all entries must be lowercase by locale.
 	private static final Comparator<String> LONGER_FIRST_LOWERCASE = Comparator.reverseOrder();
 
@@ -206,17 +205,169 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		return date;
 	}
 
+	@Override
+	public long tryParse(CharSequence source) {
+		return tryParse(source, true);
+	}
+
+	/**
+	 * 解析日期字符串为毫秒数，规则与{@link #parse(String)}相同，解析失败时不抛出异常
+	 *
+	 * @param source  日期字符串，可以为{@code null}
+	 * @param lenient 是否宽容模式，非宽容模式下字段越界（如2月30日）视为失败
+	 * @return 毫秒数，解析失败返回{@link Long#MIN_VALUE}
+	 */
+	public long tryParse(CharSequence source, boolean lenient) {
+		if (null == source) {
+			return Long.MIN_VALUE;
+		}
+		final Calendar calendar = CalendarPool.acquire(timeZone, locale);
+		try {
+			if (!parse(source, new ParsePosition(0), calendar)
+					|| (!lenient && !CalendarPool.isValidFields(calendar))) {
+				return Long.MIN_VALUE;
+			}
+			return calendar.getTimeInMillis();
+		} finally {
+			CalendarPool.release(calendar);
+		}
+	}
+
+	/**
+	 * 解析byte[]中的一段日期字符串（按UTF-8解码），规则与{@link #parse(String)}相同
+	 *
+	 * @param source 字节数组
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @return 毫秒数
+	 * @throws ParseException 解析失败
+	 * @throws IndexOutOfBoundsException 范围超出数组
+	 */
+	public long parse(byte[] source, int offset, int length) throws ParseException {
+		return parse(ByteSequence.of(source, offset, length));
+	}
+
+	/**
+	 * 解析{@link ByteBuffer}中的一段日期字符串（按UTF-8解码），规则与{@link #parse(String)}相同，不改变缓冲区的position
+	 *
+	 * @param source 缓冲区，堆内或直接内存
+	 * @param offset 起始位置（绝对位置）
+	 * @param length 长度
+	 * @return 毫秒数
+	 * @throws ParseException 解析失败
+	 * @throws IndexOutOfBoundsException 范围超出limit
+	 */
+	public long parse(ByteBuffer source, int offset, int length) throws ParseException {
+		return parse(ByteSequence.of(source, offset, length));
+	}
+
+	/**
+	 * 解析字节序列，全部为ASCII时直接按字节读取，不解码为字符串
+	 *
+	 * @param source 字节序列
+	 * @return 毫秒数
+	 * @throws ParseException 解析失败
+	 */
+	long parse(ByteSequence source) throws ParseException {
+		final CharSequence chars = source.decode();
+		final ParsePosition pos = new ParsePosition(0);
+		final Calendar calendar = CalendarPool.acquire(timeZone, locale);
+		try {
+			if (parse(chars, pos, calendar)) {
+				return calendar.getTimeInMillis();
+			}
+		} finally {
+			CalendarPool.release(calendar);
+		}
+		throw new ParseException("Unparseable date: " + chars, pos.getErrorIndex());
+	}
+
 	@Override
 	public Date parse(String source, ParsePosition pos) {
-		// timing tests indicate getting new instance is 19% faster than cloning
-		final Calendar cal = Calendar.getInstance(timeZone, locale);
-		cal.clear();
+		final Calendar cal = CalendarPool.acquire(timeZone, locale);
+		try {
+			return parse(source, pos, cal) ? cal.getTime() : null;
+		} finally {
+			CalendarPool.release(cal);
+		}
+	}
 
-		return parse(source, pos, cal) ? cal.getTime() : null;
+	@Override
+	public int parseAll(List<? extends CharSequence> sources, long[] result, BitSet failed) {
+		return parseAll(sources, result, failed, null);
+	}
+
+	/**
+	 * 批量解析，先尝试定长格式的快速解析
+	 *
+	 * @param sources     日期字符串列表
+	 * @param result      结果数组
+	 * @param failed      记录解析失败的位置
+	 * @param fixedParser 定长格式解析器，可以为{@code null}
+	 * @return 失败的个数
+	 */
+	int parseAll(List<? extends CharSequence> sources, long[] result, BitSet failed, FixedDateParser fixedParser) {
+		final int size = sources.size();
+		if (result.length < size) {
+			throw new IndexOutOfBoundsException("result length: " + result.length + ", sources size: " + size);
+		}
+		failed.clear(0, size);
+		int failures = 0;
+		// 整批复用同一个Calendar和ParsePosition，仅在需要时借出
+		Calendar calendar = null;
+		TimeZone calendarZone = null;
+		final ParsePosition pos = new ParsePosition(0);
+		try {
+			for (int i = 0; i < size; i++) {
+				final CharSequence source = sources.get(i);
+				long millis = null == source || null == fixedParser ? FixedDateParser.NONE : fixedParser.parse(source, 0);
+				if (FixedDateParser.NONE != millis) {
+					result[i] = millis;
+					continue;
+				}
+				if (null != source) {
+					if (null == calendar) {
+						calendar = CalendarPool.acquire(timeZone, locale);
+						calendarZone = calendar.getTimeZone();
+					} else {
+						calendar.clear();
+						// 时区策略会修改Calendar的时区
+						if (calendar.getTimeZone() != calendarZone) {
+							calendar.setTimeZone(calendarZone);
+						}
+					}
+					pos.setIndex(0);
+					pos.setErrorIndex(-1);
+					if (parse(source, pos, calendar)) {
+						millis = calendar.getTimeInMillis();
+					}
+				}
+				if (FixedDateParser.NONE == millis) {
+					failed.set(i);
+					failures++;
+				}
+				result[i] = millis;
+			}
+		} finally {
+			CalendarPool.release(calendar);
+		}
+		return failures;
 	}
 
 	@Override
 	public boolean parse(String source, ParsePosition pos, Calendar calendar) {
+		return parse((CharSequence) source, pos, calendar);
+	}
+
+	/**
+	 * 按字符逐个解析，不将source转为字符串，规则与{@link #parse(String, ParsePosition, Calendar)}相同
+	 *
+	 * @param source   日期字符序列
+	 * @param pos      解析位置
+	 * @param calendar 解析结果写入的Calendar
+	 * @return 是否解析成功
+	 */
+	boolean parse(CharSequence source, ParsePosition pos, Calendar calendar) {
 		final ListIterator<StrategyAndWidth> lt = patterns.listIterator();
 		while (lt.hasNext()) {
 			final StrategyAndWidth strategyAndWidth = lt.next();
@@ -228,57 +379,70 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		return true;
 	}
 
-	// Support for strategies
-	// -----------------------------------------------------------------------
+	/**
+	 * 解析成功所需的最短长度，字面量按原长计算，每个字段至少一个字符
+	 *
+	 * @return 最短长度
+	 */
+	int getMinLength() {
+		int length = 0;
+		for (StrategyAndWidth field : patterns) {
+			length += field.strategy instanceof CopyQuotedStrategy ? field.width : 1;
+		}
+		return length;
+	}
 
-	private static StringBuilder simpleQuote(final StringBuilder sb, final String value) {
-		for (int i = 0; i < value.length(); ++i) {
-			final char c = value.charAt(i);
-			switch (c) {
-				case '\\':
-				case '^':
-				case '$':
-				case '.':
-				case '|':
-				case '?':
-				case '*':
-				case '+':
-				case '(':
-				case ')':
-				case '[':
-				case '{':
-					sb.append('\\');
-				default:
-					sb.append(c);
+	/**
+	 * 是否所有字段均为数字，数字字段只接受空白和数字，其余字符只能来自字面量
+	 *
+	 * @return 是否所有字段均为数字
+	 */
+	boolean isNumeric() {
+		for (StrategyAndWidth field : patterns) {
+			if (!field.strategy.isNumber() && !(field.strategy instanceof CopyQuotedStrategy)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 按顺序拼接格式中的所有字面量
+	 *
+	 * @return 字面量
+	 */
+	String getLiterals() {
+		final StringBuilder literals = new StringBuilder();
+		for (StrategyAndWidth field : patterns) {
+			if (field.strategy instanceof CopyQuotedStrategy) {
+				literals.append(((CopyQuotedStrategy) field.strategy).formatField);
 			}
 		}
-		return sb;
+		return literals.toString();
 	}
 
+	// Support for strategies
+	// -----------------------------------------------------------------------
+
 	/**
 	 * Get the short and long values displayed for a field
 	 *
 	 * @param cal    The calendar to obtain the short and long values
 	 * @param locale The locale of display names
 	 * @param field  The field of interest
-	 * @param regex  The regular expression to build
-	 * @return The map of string display names to field values
+	 * @return The trie of display names to field values
 	 */
-	private static Map<String, Integer> appendDisplayNames(final Calendar cal, final Locale locale, final int field, final StringBuilder regex) {
-		final Map<String, Integer> values = new HashMap<>();
-
+	private static TextTrie<Integer> getDisplayNames(final Calendar cal, final Locale locale, final int field) {
 		final Map<String, Integer> displayNames = cal.getDisplayNames(field, Calendar.ALL_STYLES, locale);
-		final TreeSet<String> sorted = new TreeSet<>(LONGER_FIRST_LOWERCASE);
+		final TreeMap<String, Integer> sorted = new TreeMap<>(LONGER_FIRST_LOWERCASE);
 		for (final Map.Entry<String, Integer> displayName : displayNames.entrySet()) {
-			final String key = displayName.getKey().toLowerCase(locale);
-			if (sorted.add(key)) {
-				values.put(key, displayName.getValue());
-			}
+			sorted.putIfAbsent(displayName.getKey().toLowerCase(locale), displayName.getValue());
 		}
-		for (final String symbol : sorted) {
-			simpleQuote(regex, symbol).append('|');
+		final TextTrie<Integer> trie = new TextTrie<>();
+		for (final Map.Entry<String, Integer> entry : sorted.entrySet()) {
+			trie.put(entry.getKey(), entry.getValue());
 		}
-		return values;
+		return trie;
 	}
 
 	/**
@@ -305,47 +469,7 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 			return false;
 		}
 
-		abstract boolean parse(FastDateParser parser, Calendar calendar, String source, ParsePosition pos, int maxWidth);
-	}
-
-	/**
-	 * A strategy to parse a single field from the parsing pattern
-	 */
-	private static abstract class PatternStrategy extends Strategy {
-
-		private Pattern pattern;
-
-		void createPattern(final StringBuilder regex) {
-			createPattern(regex.toString());
-		}
-
-		void createPattern(final String regex) {
-			this.pattern = Pattern.compile(regex);
-		}
-
-		/**
-		 * Is this field a number? The default implementation returns false.
-		 *
-		 * @return true, if field is a number
-		 */
-		@Override
-		boolean isNumber() {
-			return false;
-		}
-
-		@Override
-		boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
-			final Matcher matcher = pattern.matcher(source.substring(pos.getIndex()));
-			if (!matcher.lookingAt()) {
-				pos.setErrorIndex(pos.getIndex());
-				return false;
-			}
-			pos.setIndex(pos.getIndex() + matcher.end(1));
-			setCalendar(parser, calendar, matcher.group(1));
-			return true;
-		}
-
-		abstract void setCalendar(FastDateParser parser, Calendar cal, String value);
+		abstract boolean parse(FastDateParser parser, Calendar calendar, CharSequence source, ParsePosition pos, int maxWidth);
 	}
 
 	/**
@@ -469,7 +593,7 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		}
 
 		@Override
-		boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
+		boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
 			for (int idx = 0; idx < formatField.length(); ++idx) {
 				final int sIdx = idx + pos.getIndex();
 				if (sIdx == source.length()) {
@@ -487,12 +611,12 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 	}
 
 	/**
-	 * A strategy that handles a text field in the parsing pattern
+	 * A strategy that handles a text field in the parsing pattern<br>
+	 * 按前缀树查找最长的匹配（忽略大小写），与按长度降序的正则分支等价
 	 */
-	private static class CaseInsensitiveTextStrategy extends PatternStrategy {
+	private static class CaseInsensitiveTextStrategy extends Strategy {
 		private final int field;
-		final Locale locale;
-		private final Map<String, Integer> lKeyValues;
+		private final TextTrie<Integer> names;
 
 		/**
 		 * Construct a Strategy that parses a Text field
@@ -503,20 +627,20 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		 */
 		CaseInsensitiveTextStrategy(final int field, final Calendar definingCalendar, final Locale locale) {
 			this.field = field;
-			this.locale = locale;
-
-			final StringBuilder regex = new StringBuilder();
-			regex.append("((?iu)");
-			lKeyValues = appendDisplayNames(definingCalendar, locale, field, regex);
-			regex.setLength(regex.length() - 1);
-			regex.append(")");
-			createPattern(regex);
+			this.names = getDisplayNames(definingCalendar, locale, field);
 		}
 
 		@Override
-		void setCalendar(final FastDateParser parser, final Calendar cal, final String value) {
-			final Integer iVal = lKeyValues.get(value.toLowerCase(locale));
-			cal.set(field, iVal);
+		boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+			final int start = pos.getIndex();
+			final TextTrie.Node<Integer> node = names.find(source, start);
+			if (null == node) {
+				pos.setErrorIndex(start);
+				return false;
+			}
+			pos.setIndex(start + node.depth);
+			calendar.set(field, node.value);
+			return true;
 		}
 	}
 
@@ -541,7 +665,7 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		}
 
 		@Override
-		boolean parse(final FastDateParser parser, final Calendar calendar, final String source, final ParsePosition pos, final int maxWidth) {
+		boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
 			int idx = pos.getIndex();
 			int last = source.length();
 
@@ -573,10 +697,18 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 				return false;
 			}
 
-			final int value = Integer.parseInt(source.substring(pos.getIndex(), idx));
+			long value = 0;
+			for (int i = pos.getIndex(); i < idx; i++) {
+				value = value * 10 + Character.digit(source.charAt(i), 10);
+				if (value > Integer.MAX_VALUE) {
+					// 数字过长，不抛出NumberFormatException
+					pos.setErrorIndex(pos.getIndex());
+					return false;
+				}
+			}
 			pos.setIndex(idx);
 
-			calendar.set(field, modify(parser, value));
+			calendar.set(field, modify(parser, (int) value));
 			return true;
 		}
 
@@ -601,15 +733,11 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 	};
 
 	/**
-	 * A strategy that handles a timezone field in the parsing pattern
+	 * A strategy that handles a timezone field in the parsing pattern<br>
+	 * 依次尝试{@code +hhmm}、{@code +hh:mm}、{@code GMT+h:mm}形式的偏移，再按前缀树查找最长的时区名称（忽略大小写）
 	 */
-	static class TimeZoneStrategy extends PatternStrategy {
-		private static final String RFC_822_TIME_ZONE = "[+-]\\d{4}";
-		private static final String UTC_TIME_ZONE_WITH_OFFSET = "[+-]\\d{2}:\\d{2}";
-		private static final String GMT_OPTION = "GMT[+-]\\d{1,2}:\\d{2}";
-
-		private final Locale locale;
-		private final Map<String, TzInfo> tzNames = new HashMap<>();
+	static class TimeZoneStrategy extends Strategy {
+		private final TextTrie<TzInfo> tzNames = new TextTrie<>();
 
 		private static class TzInfo {
 			TimeZone zone;
@@ -632,12 +760,7 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		 * @param locale The Locale
 		 */
 		TimeZoneStrategy(final Locale locale) {
-			this.locale = locale;
-
-			final StringBuilder sb = new StringBuilder();
-			sb.append("((?iu)" + RFC_822_TIME_ZONE + "|" + UTC_TIME_ZONE_WITH_OFFSET + "|" + GMT_OPTION);
-
-			final Set<String> sorted = new TreeSet<>(LONGER_FIRST_LOWERCASE);
+			final TreeMap<String, TzInfo> sorted = new TreeMap<>(LONGER_FIRST_LOWERCASE);
 
 			final String[][] zones = DateFormatSymbols.getInstance(locale).getZoneStrings();
 			for (final String[] zoneNames : zones) {
@@ -662,26 +785,54 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 							break;
 					}
 					if (zoneNames[i] != null) {
-						final String key = zoneNames[i].toLowerCase(locale);
 						// ignore the data associated with duplicates supplied in
 						// the additional names
-						if (sorted.add(key)) {
-							tzNames.put(key, tzInfo);
-						}
+						sorted.putIfAbsent(zoneNames[i].toLowerCase(locale), tzInfo);
 					}
 				}
 			}
-			// order the regex alternatives with longer strings first, greedy
-			// match will ensure longest string will be consumed
-			for (final String zoneName : sorted) {
-				simpleQuote(sb.append('|'), zoneName);
+			for (final Map.Entry<String, TzInfo> entry : sorted.entrySet()) {
+				tzNames.put(entry.getKey(), entry.getValue());
 			}
-			sb.append(")");
-			createPattern(sb);
 		}
 
 		@Override
-		void setCalendar(final FastDateParser parser, final Calendar cal, final String value) {
+		boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+			final int start = pos.getIndex();
+			int end = -1;
+			if (isSign(source, start)) {
+				if (isDigits(source, start + 1, 4)) {
+					// +hhmm
+					end = start + 5;
+				} else if (isDigits(source, start + 1, 2) && isChar(source, start + 3, ':') && isDigits(source, start + 4, 2)) {
+					// +hh:mm
+					end = start + 6;
+				}
+			} else if (isGmt(source, start) && isSign(source, start + 3)) {
+				// GMT+h:mm 或 GMT+hh:mm
+				final int hours = isDigits(source, start + 4, 2) ? 2 : isDigits(source, start + 4, 1) ? 1 : 0;
+				final int colon = start + 4 + hours;
+				if (hours > 0 && isChar(source, colon, ':') && isDigits(source, colon + 1, 2)) {
+					end = colon + 3;
+				}
+			}
+
+			TzInfo tzInfo = null;
+			if (end < 0) {
+				final TextTrie.Node<TzInfo> node = tzNames.find(source, start);
+				if (null == node) {
+					pos.setErrorIndex(start);
+					return false;
+				}
+				end = start + node.depth;
+				tzInfo = node.value;
+			}
+			pos.setIndex(end);
+			setCalendar(parser, calendar, source.subSequence(start, end).toString(), tzInfo);
+			return true;
+		}
+
+		private void setCalendar(final FastDateParser parser, final Calendar cal, final String value, final TzInfo tzInfo) {
 			if (value.charAt(0) == '+' || value.charAt(0) == '-') {
 				final TimeZone tz = TimeZone.getTimeZone("GMT" + value);
 				cal.setTimeZone(tz);
@@ -689,7 +840,6 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 				final TimeZone tz = TimeZone.getTimeZone(value.toUpperCase());
 				cal.setTimeZone(tz);
 			} else {
-				final TzInfo tzInfo = tzNames.get(value.toLowerCase(locale));
 				cal.set(Calendar.DST_OFFSET, tzInfo.dstOffset);
 				//issue#I1AXIN@Gitee
 //				cal.set(Calendar.ZONE_OFFSET, tzInfo.zone.getRawOffset());
@@ -698,30 +848,57 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		}
 	}
 
-	private static class ISO8601TimeZoneStrategy extends PatternStrategy {
+	private static class ISO8601TimeZoneStrategy extends Strategy {
 		// Z, +hh, -hh, +hhmm, -hhmm, +hh:mm or -hh:mm
 
+		/**
+		 * 偏移的形式：1为{@code +hh}，2为{@code +hhmm}，3为{@code +hh:mm}
+		 */
+		private final int form;
+
 		/**
 		 * Construct a Strategy that parses a TimeZone
 		 *
-		 * @param pattern The Pattern
+		 * @param form 偏移的形式
 		 */
-		ISO8601TimeZoneStrategy(final String pattern) {
-			createPattern(pattern);
+		ISO8601TimeZoneStrategy(final int form) {
+			this.form = form;
 		}
 
 		@Override
-		void setCalendar(final FastDateParser parser, final Calendar cal, final String value) {
-			if (Objects.equals(value, "Z")) {
-				cal.setTimeZone(TimeZone.getTimeZone("UTC"));
-			} else {
-				cal.setTimeZone(TimeZone.getTimeZone("GMT" + value));
+		boolean parse(final FastDateParser parser, final Calendar calendar, final CharSequence source, final ParsePosition pos, final int maxWidth) {
+			final int start = pos.getIndex();
+			if (isChar(source, start, 'Z')) {
+				pos.setIndex(start + 1);
+				calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+				return true;
+			}
+			int end = -1;
+			if (isSign(source, start) && isDigits(source, start + 1, 2)) {
+				switch (form) {
+					case 1:
+						end = start + 3;
+						break;
+					case 2:
+						end = isDigits(source, start + 3, 2) ? start + 5 : -1;
+						break;
+					default:
+						end = isChar(source, start + 3, ':') && isDigits(source, start + 4, 2) ? start + 6 : -1;
+						break;
+				}
+			}
+			if (end < 0) {
+				pos.setErrorIndex(start);
+				return false;
 			}
+			pos.setIndex(end);
+			calendar.setTimeZone(TimeZone.getTimeZone("GMT" + source.subSequence(start, end)));
+			return true;
 		}
 
-		private static final Strategy ISO_8601_1_STRATEGY = new ISO8601TimeZoneStrategy("(Z|(?:[+-]\\d{2}))");
-		private static final Strategy ISO_8601_2_STRATEGY = new ISO8601TimeZoneStrategy("(Z|(?:[+-]\\d{2}\\d{2}))");
-		private static final Strategy ISO_8601_3_STRATEGY = new ISO8601TimeZoneStrategy("(Z|(?:[+-]\\d{2}(?::)\\d{2}))");
+		private static final Strategy ISO_8601_1_STRATEGY = new ISO8601TimeZoneStrategy(1);
+		private static final Strategy ISO_8601_2_STRATEGY = new ISO8601TimeZoneStrategy(2);
+		private static final Strategy ISO_8601_3_STRATEGY = new ISO8601TimeZoneStrategy(3);
 
 		/**
 		 * Factory method for ISO8601TimeZoneStrategies.
@@ -743,6 +920,135 @@ public class FastDateParser extends AbstractDateBasic implements DateParser {
 		}
 	}
 
+	/**
+	 * 忽略大小写的前缀树，用于文本字段和时区名称的最长匹配<br>
+	 * 构造后只读，可在多个线程间共享
+	 *
+	 * @param <V> 值类型
+	 */
+	private static final class TextTrie<V> {
+		private final Node<V> root = new Node<>(0);
+
+		/**
+		 * 加入名称，忽略大小写后已存在的名称保留原值
+		 *
+		 * @param key   名称
+		 * @param value 值
+		 */
+		void put(final String key, final V value) {
+			Node<V> node = root;
+			for (int i = 0; i < key.length(); i++) {
+				node = node.child(fold(key.charAt(i)), true);
+			}
+			if (null == node.value) {
+				node.value = value;
+			}
+		}
+
+		/**
+		 * 查找从start开始最长的名称
+		 *
+		 * @param source 字符串
+		 * @param start  起始位置
+		 * @return 名称对应的节点，其深度即匹配的长度，无匹配返回{@code null}
+		 */
+		Node<V> find(final CharSequence source, final int start) {
+			Node<V> found = null == root.value ? null : root;
+			Node<V> node = root;
+			for (int i = start; i < source.length(); i++) {
+				node = node.child(fold(source.charAt(i)), false);
+				if (null == node) {
+					break;
+				}
+				if (null != node.value) {
+					found = node;
+				}
+			}
+			return found;
+		}
+
+		/**
+		 * 与正则的{@code (?iu)}相同的大小写折叠
+		 */
+		private static char fold(final char c) {
+			return Character.toLowerCase(Character.toUpperCase(c));
+		}
+
+		static final class Node<V> {
+			final int depth;
+			V value;
+			private char[] keys = new char[0];
+			private Node<V>[] children = newNodes(0);
+
+			Node(final int depth) {
+				this.depth = depth;
+			}
+
+			Node<V> child(final char c, final boolean create) {
+				final int index = Arrays.binarySearch(keys, c);
+				if (index >= 0) {
+					return children[index];
+				}
+				if (!create) {
+					return null;
+				}
+				final int insert = -index - 1;
+				final char[] newKeys = new char[keys.length + 1];
+				final Node<V>[] newChildren = newNodes(keys.length + 1);
+				System.arraycopy(keys, 0, newKeys, 0, insert);
+				System.arraycopy(children, 0, newChildren, 0, insert);
+				System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+				System.arraycopy(children, insert, newChildren, insert + 1, keys.length - insert);
+				final Node<V> child = new Node<>(depth + 1);
+				newKeys[insert] = c;
+				newChildren[insert] = child;
+				keys = newKeys;
+				children = newChildren;
+				return child;
+			}
+
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			private static <V> Node<V>[] newNodes(final int length) {
+				return new Node[length];
+			}
+		}
+	}
+
+	private static boolean isSign(final CharSequence source, final int index) {
+		return isChar(source, index, '+') || isChar(source, index, '-');
+	}
+
+	/**
+	 * 从index开始是否为忽略大小写的GMT
+	 */
+	private static boolean isGmt(final CharSequence source, final int index) {
+		return isChar(source, index, 'G', 'g') && isChar(source, index + 1, 'M', 'm') && isChar(source, index + 2, 'T', 't');
+	}
+
+	private static boolean isChar(final CharSequence source, final int index, final char upper, final char lower) {
+		return isChar(source, index, upper) || isChar(source, index, lower);
+	}
+
+	private static boolean isChar(final CharSequence source, final int index, final char c) {
+		return index < source.length() && source.charAt(index) == c;
+	}
+
+	/**
+	 * 从index开始是否为count个ASCII数字
+	 */
+	private static boolean isDigits(final CharSequence source, final int index, final int count) {
+		if (index + count > source.length()) {
+			return false;
+		}
+		for (int i = index; i < index + count; i++) {
+			final char c = source.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private static final Strategy NUMBER_MONTH_STRATEGY = new NumberStrategy(Calendar.MONTH) {
 		@Override
 		int modify(final FastDateParser parser, final int iValue) {
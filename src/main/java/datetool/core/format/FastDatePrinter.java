@@ -3,6 +3,7 @@ package datetool.core.format;
 import datetool.core.DateException;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.text.DateFormatSymbols;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,6 +22,8 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 	private transient Rule[] rules;
 	/** 估算最大长度. */
 	private transient int mMaxLengthEstimate;
+	/** 时区偏移表，为null表示不能使用毫秒数直接计算的方式格式化 */
+	private transient ZoneOffsetTable zoneTable;
 
 	// Constructor
 	// -----------------------------------------------------------------------
@@ -49,6 +52,19 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		}
 
 		mMaxLengthEstimate = len;
+
+		// 所有规则均为数字或文本字段，且使用格里高利历时，按毫秒数直接计算各字段，不创建Calendar
+		ZoneOffsetTable zoneTable = null;
+		if ("gregory".equals(Calendar.getInstance(timeZone, locale).getCalendarType())) {
+			zoneTable = ZoneOffsetTable.of(timeZone);
+			for (Rule rule : rules) {
+				if (!rule.supportsFields()) {
+					zoneTable = null;
+					break;
+				}
+			}
+		}
+		this.zoneTable = zoneTable;
 	}
 
 	// Parse the pattern
@@ -100,7 +116,8 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 						rule = selectNumberRule(Calendar.YEAR, Math.max(tokenLen, 4));
 					}
 					if (c == 'Y') {
-						rule = new WeekYear((NumberRule) rule);
+						final Calendar calendar = Calendar.getInstance(timeZone, locale);
+						rule = new WeekYear((NumberRule) rule, calendar.getFirstDayOfWeek(), calendar.getMinimalDaysInFirstWeek());
 					}
 					break;
 				case 'M': // month in year (text and number)
@@ -301,16 +318,12 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 
 	@Override
 	public String format(long millis) {
-		final Calendar c = Calendar.getInstance(timeZone, locale);
-		c.setTimeInMillis(millis);
-		return applyRulesToString(c);
+		return format(millis, new StringBuilder(mMaxLengthEstimate)).toString();
 	}
 
 	@Override
 	public String format(Date date) {
-		final Calendar c = Calendar.getInstance(timeZone, locale);
-		c.setTime(date);
-		return applyRulesToString(c);
+		return format(date.getTime());
 	}
 
 	@Override
@@ -320,16 +333,163 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 
 	@Override
 	public <B extends Appendable> B format(long millis, B buf) {
-		final Calendar c = Calendar.getInstance(timeZone, locale);
-		c.setTimeInMillis(millis);
-		return applyRules(c, buf);
+		final DateFields fields = toFields(millis);
+		if (null != fields) {
+			return applyRules(fields, buf);
+		}
+		final Calendar c = CalendarPool.acquire(timeZone, locale);
+		try {
+			c.setTimeInMillis(millis);
+			return applyRules(c, buf);
+		} finally {
+			CalendarPool.release(c);
+		}
 	}
 
 	@Override
 	public <B extends Appendable> B format(Date date, B buf) {
-		final Calendar c = Calendar.getInstance(timeZone, locale);
-		c.setTime(date);
-		return applyRules(c, buf);
+		return format(date.getTime(), buf);
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * 整批共用一个{@link DateFields}，需要使用Calendar时共用一个Calendar，不为每个结果创建字符串
+	 */
+	@Override
+	public <B extends Appendable> B formatAll(long[] millis, int from, int to, B out, char separator) {
+		if (from < 0 || to > millis.length || from > to) {
+			throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + millis.length);
+		}
+		// 整批复用同一个字段对象（同一天内只计算时间部分）和同一个Calendar
+		final DateFields fields = null == zoneTable ? null : new DateFields();
+		Calendar calendar = null;
+		try {
+			for (int i = from; i < to; i++) {
+				if (i > from) {
+					out.append(separator);
+				}
+				if (null != fields && zoneTable.toFields(millis[i], fields)) {
+					applyRules(fields, out);
+				} else {
+					if (null == calendar) {
+						calendar = CalendarPool.acquire(timeZone, locale);
+					}
+					calendar.setTimeInMillis(millis[i]);
+					applyRules(calendar, out);
+				}
+			}
+		} catch (final IOException e) {
+			throw new DateException(e);
+		} finally {
+			if (null != calendar) {
+				CalendarPool.release(calendar);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * 直接写入目标数组，不创建字符串；剩余空间不足时已写入的部分内容不会回退
+	 */
+	@Override
+	public int formatInto(long millis, char[] dest, int offset) {
+		if (offset < 0 || offset > dest.length) {
+			throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + dest.length);
+		}
+		return format(millis, new CharArrayAppender(dest, offset)).position;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * 直接按UTF-8编码写入缓冲区，不创建字符串和字节数组；剩余空间不足时已写入的部分内容不会回退
+	 */
+	@Override
+	public int formatTo(long millis, ByteBuffer buffer) {
+		final int start = buffer.position();
+		format(millis, new ByteBufferAppender(buffer)).finish();
+		return buffer.position() - start;
+	}
+
+	/**
+	 * 估算格式化结果的最大长度，可用于预先分配{@link #formatInto(long, char[], int)}的目标数组
+	 *
+	 * @return 最大长度估算值
+	 */
+	public int getMaxLengthEstimate() {
+		return mMaxLengthEstimate;
+	}
+
+	/**
+	 * 毫秒字段的数量，用于按秒缓存格式化结果
+	 *
+	 * @return 毫秒字段数量，存在宽度不固定（S或SS）的毫秒字段时返回-1
+	 */
+	int getMillisecondFieldCount() {
+		int count = 0;
+		for (Rule rule : rules) {
+			if (rule instanceof PaddedNumberField) {
+				if (((PaddedNumberField) rule).mField == Calendar.MILLISECOND) {
+					count++;
+				}
+			} else if (rule instanceof UnpaddedNumberField && ((UnpaddedNumberField) rule).mField == Calendar.MILLISECOND
+					|| rule instanceof TwoDigitNumberField && ((TwoDigitNumberField) rule).mField == Calendar.MILLISECOND) {
+				return -1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 格式化毫秒数，并记录各毫秒字段在结果中的结束位置
+	 *
+	 * @param millis 毫秒数
+	 * @param ends   毫秒字段的结束位置（不包含），长度不小于{@link #getMillisecondFieldCount()}
+	 * @return 格式化后的字符串
+	 */
+	String formatWithMillisecondEnds(long millis, int[] ends) {
+		final StringBuilder buf = new StringBuilder(mMaxLengthEstimate);
+		final DateFields fields = toFields(millis);
+		final Calendar calendar = null == fields ? CalendarPool.acquire(timeZone, locale) : null;
+		try {
+			if (null != calendar) {
+				calendar.setTimeInMillis(millis);
+			}
+			int count = 0;
+			for (final Rule rule : rules) {
+				if (null != fields) {
+					rule.appendTo(buf, fields);
+				} else {
+					rule.appendTo(buf, calendar);
+				}
+				if (rule instanceof PaddedNumberField && ((PaddedNumberField) rule).mField == Calendar.MILLISECOND) {
+					ends[count++] = buf.length();
+				}
+			}
+		} catch (final IOException e) {
+			throw new DateException(e);
+		} finally {
+			if (null != calendar) {
+				CalendarPool.release(calendar);
+			}
+		}
+		return buf.toString();
+	}
+
+	/**
+	 * 始终使用{@link Calendar}计算各字段并格式化，结果与{@link #format(long)}相同，用于对比两种方式的性能
+	 *
+	 * @param millis 毫秒数
+	 * @return 格式化后的字符串
+	 */
+	public String formatByCalendar(long millis) {
+		final Calendar c = CalendarPool.acquire(timeZone, locale);
+		try {
+			c.setTimeInMillis(millis);
+			return applyRulesToString(c);
+		} finally {
+			CalendarPool.release(c);
+		}
 	}
 
 	@Override
@@ -373,6 +533,35 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		return buf;
 	}
 
+	/**
+	 * 使用由毫秒数计算出的各字段执行格式化规则
+	 *
+	 * @param fields 日期字段
+	 * @param buf    输出
+	 * @param <B>    输出类型
+	 * @return 输出
+	 */
+	private <B extends Appendable> B applyRules(DateFields fields, B buf) {
+		try {
+			for (final Rule rule : this.rules) {
+				rule.appendTo(buf, fields);
+			}
+		} catch (final IOException e) {
+			throw new DateException(e);
+		}
+		return buf;
+	}
+
+	/**
+	 * 将毫秒数拆分为本地时间的各字段
+	 *
+	 * @param millis 毫秒数
+	 * @return 日期字段，规则或日期不支持直接计算时返回{@code null}
+	 */
+	private DateFields toFields(long millis) {
+		return null == zoneTable ? null : zoneTable.toFields(millis);
+	}
+
 	// Serializing
 	// -----------------------------------------------------------------------
 
@@ -482,6 +671,25 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		 * @throws IOException if an I/O error occurs
 		 */
 		void appendTo(Appendable buf, Calendar calendar) throws IOException;
+
+		/**
+		 * 是否支持不经过Calendar，直接使用{@link DateFields}输出
+		 *
+		 * @return 是否支持
+		 */
+		default boolean supportsFields() {
+			return true;
+		}
+
+		/**
+		 * Appends the value of the specified fields to the output buffer based on the rule implementation.<br>
+		 * 仅在{@link #supportsFields()}为{@code true}时调用
+		 *
+		 * @param buf the output buffer
+		 * @param fields fields to be appended
+		 * @throws IOException if an I/O error occurs
+		 */
+		void appendTo(Appendable buf, DateFields fields) throws IOException;
 	}
 
 	/**
@@ -526,6 +734,11 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
 			buffer.append(mValue);
 		}
+
+		@Override
+		public void appendTo(final Appendable buffer, final DateFields fields) throws IOException {
+			buffer.append(mValue);
+		}
 	}
 
 	/**
@@ -560,6 +773,11 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		public void appendTo(Appendable buffer, Calendar calendar) throws IOException {
 			buffer.append(mValue);
 		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			buffer.append(mValue);
+		}
 	}
 
 	/**
@@ -604,6 +822,16 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		public void appendTo(Appendable buffer, Calendar calendar) throws IOException {
 			buffer.append(mValues[calendar.get(mField)]);
 		}
+
+		@Override
+		public boolean supportsFields() {
+			return DateFields.isSupported(mField);
+		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			buffer.append(mValues[fields.get(mField)]);
+		}
 	}
 
 	/**
@@ -639,6 +867,16 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			appendTo(buffer, calendar.get(mField));
 		}
 
+		@Override
+		public boolean supportsFields() {
+			return DateFields.isSupported(mField);
+		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendTo(buffer, fields.get(mField));
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -685,6 +923,11 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
 		}
 
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendTo(buffer, fields.month);
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -738,6 +981,16 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			appendTo(buffer, calendar.get(mField));
 		}
 
+		@Override
+		public boolean supportsFields() {
+			return DateFields.isSupported(mField);
+		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendTo(buffer, fields.get(mField));
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -780,6 +1033,16 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			appendTo(buffer, calendar.get(mField));
 		}
 
+		@Override
+		public boolean supportsFields() {
+			return DateFields.isSupported(mField);
+		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendTo(buffer, fields.get(mField));
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -820,15 +1083,21 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		 */
 		@Override
 		public void appendTo(Appendable buffer, Calendar calendar) throws IOException {
-			appendTo(buffer, calendar.get(Calendar.YEAR) % 100);
+			appendTo(buffer, calendar.get(Calendar.YEAR));
+		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendTo(buffer, fields.year);
 		}
 
 		/**
-		 * {@inheritDoc}
+		 * {@inheritDoc}<br>
+		 * 只输出年份的后两位，{@link WeekYear}传入的是完整的周年
 		 */
 		@Override
 		public final void appendTo(Appendable buffer, int value) throws IOException {
-			appendDigits(buffer, value);
+			appendDigits(buffer, value % 100);
 		}
 	}
 
@@ -862,6 +1131,11 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
 		}
 
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendTo(buffer, fields.month);
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -908,6 +1182,12 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			mRule.appendTo(buffer, value);
 		}
 
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			final int value = fields.hour % 12;
+			mRule.appendTo(buffer, value == 0 ? 12 : value);
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -954,6 +1234,11 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			mRule.appendTo(buffer, value);
 		}
 
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			mRule.appendTo(buffer, fields.hour == 0 ? 24 : fields.hour);
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -986,6 +1271,12 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			mRule.appendTo(buffer, value != Calendar.SUNDAY ? value - 1 : 7);
 		}
 
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			final int value = fields.dayOfWeek;
+			mRule.appendTo(buffer, value != Calendar.SUNDAY ? value - 1 : 7);
+		}
+
 		@Override
 		public void appendTo(Appendable buffer, int value) throws IOException {
 			mRule.appendTo(buffer, value);
@@ -999,9 +1290,13 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 	 */
 	private static class WeekYear implements NumberRule {
 		private final NumberRule mRule;
+		private final int firstDayOfWeek;
+		private final int minimalDaysInFirstWeek;
 
-		WeekYear(final NumberRule rule) {
+		WeekYear(final NumberRule rule, final int firstDayOfWeek, final int minimalDaysInFirstWeek) {
 			mRule = rule;
+			this.firstDayOfWeek = firstDayOfWeek;
+			this.minimalDaysInFirstWeek = minimalDaysInFirstWeek;
 		}
 
 		@Override
@@ -1014,6 +1309,16 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 			mRule.appendTo(buffer, calendar.getWeekYear());
 		}
 
+		@Override
+		public boolean supportsFields() {
+			return mRule.supportsFields();
+		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			mRule.appendTo(buffer, fields.getWeekYear(firstDayOfWeek, minimalDaysInFirstWeek));
+		}
+
 		@Override
 		public void appendTo(Appendable buffer, int value) throws IOException {
 			mRule.appendTo(buffer, value);
@@ -1098,6 +1403,12 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 				buffer.append(getTimeZoneDisplay(zone, false, mStyle, mLocale));
 			}
 		}
+
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			// 直接计算时使用的时区即为构造时的时区
+			buffer.append(fields.dstOffset != 0 ? mDaylight : mStandard);
+		}
 	}
 
 	/**
@@ -1133,9 +1444,15 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		 */
 		@Override
 		public void appendTo(Appendable buffer, Calendar calendar) throws IOException {
+			appendOffset(buffer, calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET));
+		}
 
-			int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+		@Override
+		public void appendTo(Appendable buffer, DateFields fields) throws IOException {
+			appendOffset(buffer, fields.offset);
+		}
 
+		private void appendOffset(Appendable buffer, int offset) throws IOException {
 			if (offset < 0) {
 				buffer.append('-');
 				offset = -offset;
@@ -1212,7 +1529,15 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		 */
 		@Override
 		public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
-			int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+			appendOffset(buffer, calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET));
+		}
+
+		@Override
+		public void appendTo(final Appendable buffer, final DateFields fields) throws IOException {
+			appendOffset(buffer, fields.offset);
+		}
+
+		private void appendOffset(final Appendable buffer, int offset) throws IOException {
 			if (offset == 0) {
 				buffer.append("Z");
 				return;
@@ -1241,6 +1566,117 @@ public class FastDatePrinter extends AbstractDateBasic implements DatePrinter {
 		}
 	}
 
+	// ----------------------------------------------------------------------
+	/**
+	 * 直接写入字符数组的输出，空间不足时抛出{@link ArrayIndexOutOfBoundsException}
+	 */
+	private static final class CharArrayAppender implements Appendable {
+		private final char[] dest;
+		private int position;
+
+		CharArrayAppender(char[] dest, int position) {
+			this.dest = dest;
+			this.position = position;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) {
+			return append(csq, 0, csq.length());
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			if (csq instanceof String) {
+				final int length = end - start;
+				if (position + length > dest.length) {
+					throw new ArrayIndexOutOfBoundsException(position + length);
+				}
+				((String) csq).getChars(start, end, dest, position);
+				position += length;
+			} else {
+				for (int i = start; i < end; i++) {
+					dest[position++] = csq.charAt(i);
+				}
+			}
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			dest[position++] = c;
+			return this;
+		}
+	}
+
+	/**
+	 * 按UTF-8写入{@link ByteBuffer}的输出，空间不足时抛出{@link java.nio.BufferOverflowException}
+	 */
+	private static final class ByteBufferAppender implements Appendable {
+		/**
+		 * 未配对的代理字符写为'?'，与{@link String#getBytes(java.nio.charset.Charset)}一致
+		 */
+		private static final byte UNPAIRED_SURROGATE = '?';
+
+		private final ByteBuffer buffer;
+		/**
+		 * 等待与低位代理配对的高位代理
+		 */
+		private char highSurrogate;
+
+		ByteBufferAppender(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) {
+			return append(csq, 0, csq.length());
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			for (int i = start; i < end; i++) {
+				append(csq.charAt(i));
+			}
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			if (0 != highSurrogate) {
+				if (Character.isLowSurrogate(c)) {
+					final int codePoint = Character.toCodePoint(highSurrogate, c);
+					highSurrogate = 0;
+					buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+							.put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+					return this;
+				}
+				finish();
+			}
+			if (c < 0x80) {
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+			} else if (Character.isHighSurrogate(c)) {
+				highSurrogate = c;
+			} else if (Character.isLowSurrogate(c)) {
+				buffer.put(UNPAIRED_SURROGATE);
+			} else {
+				buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+			}
+			return this;
+		}
+
+		/**
+		 * 输出结束，未配对的高位代理按{@link String#getBytes(java.nio.charset.Charset)}的方式写为'?'
+		 */
+		void finish() {
+			if (0 != highSurrogate) {
+				highSurrogate = 0;
+				buffer.put(UNPAIRED_SURROGATE);
+			}
+		}
+	}
+
 	// ----------------------------------------------------------------------
 	/**
 	 * <p>
@@ -0,0 +1,263 @@
+package datetool.core.format;
+
+import java.io.Serializable;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 定长格式日期解析器<br>
+ * 用于各字段宽度固定的格式，例如yyyy-MM-dd HH:mm:ss、yyyy-MM-dd HH:mm:ss.SSS、yyyyMMddHHmmss、yyyy-MM-dd'T'HH:mm:ss'Z'等。
+ * 按固定位置直接读取数字并计算毫秒数，不使用正则，也不创建{@link Calendar}。<br>
+ * 字符串不符合固定布局、字段值越界或时间处于时区切换附近时返回{@link #NONE}，由调用方交给{@link FastDateParser}处理，
+ * 因此解析结果（包括非宽容模式下的报错）与{@link FastDateParser}保持一致。
+ *
+ * @see FastDateFormat
+ */
+final class FixedDateParser implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 无法按定长格式解析时的返回值
+	 */
+	static final long NONE = Long.MIN_VALUE;
+
+	private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+	/**
+	 * 公元0年1月1日到1970年1月1日的天数
+	 */
+	private static final long DAYS_0000_TO_1970 = 719528L;
+	/**
+	 * 格里高利历切换后的第一个完整年份，之前的日期交由{@link Calendar}处理
+	 */
+	static final int MIN_YEAR = 1583;
+
+	/**
+	 * 布局中的字面量字符，数字位置为0
+	 */
+	private final char[] literals;
+	private final int yearIndex;
+	private final int monthIndex;
+	private final int dayIndex;
+	private final int hourIndex;
+	private final int minuteIndex;
+	private final int secondIndex;
+	private final int millisIndex;
+	/**
+	 * 最后一个字段是否为数字，是则其后不能紧跟数字（{@link FastDateParser}会将其一并读入）
+	 */
+	private final boolean endsWithNumber;
+	private final TimeZone timeZone;
+
+	/**
+	 * 根据格式创建定长解析器
+	 *
+	 * @param pattern  日期格式
+	 * @param timeZone 时区
+	 * @param locale   地区
+	 * @return 定长解析器，格式不是定长格式或地区不使用格里高利历时返回{@code null}
+	 */
+	static FixedDateParser of(final String pattern, final TimeZone timeZone, final Locale locale) {
+		if (!"gregory".equals(Calendar.getInstance(timeZone, locale).getCalendarType())) {
+			return null;
+		}
+
+		final StringBuilder layout = new StringBuilder();
+		final int[] indexes = {-1, -1, -1, -1, -1, -1, -1};
+		final int length = pattern.length();
+		int i = 0;
+		while (i < length) {
+			final char c = pattern.charAt(i);
+			if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z') {
+				final int begin = i;
+				while (++i < length && pattern.charAt(i) == c) {
+				}
+				final int field = "yMdHmsS".indexOf(c);
+				if (field < 0 || indexes[field] >= 0 || i - begin != (c == 'y' ? 4 : c == 'S' ? 3 : 2)) {
+					return null;
+				}
+				indexes[field] = layout.length();
+				for (int j = begin; j < i; j++) {
+					layout.append('\0');
+				}
+			} else if (c == '\'') {
+				// 引号中的字面量，两个连续单引号表示单引号本身
+				if (++i < length && pattern.charAt(i) == '\'') {
+					layout.append('\'');
+					i++;
+					continue;
+				}
+				while (true) {
+					if (i >= length) {
+						return null;
+					}
+					if (pattern.charAt(i) == '\'') {
+						if (i + 1 < length && pattern.charAt(i + 1) == '\'') {
+							layout.append('\'');
+							i += 2;
+							continue;
+						}
+						i++;
+						break;
+					}
+					layout.append(pattern.charAt(i++));
+				}
+			} else {
+				layout.append(c);
+				i++;
+			}
+		}
+		// 至少包含年月日
+		if (indexes[0] < 0 || indexes[1] < 0 || indexes[2] < 0) {
+			return null;
+		}
+		final char[] literals = new char[layout.length()];
+		layout.getChars(0, literals.length, literals, 0);
+		return new FixedDateParser(literals, indexes, timeZone);
+	}
+
+	private FixedDateParser(final char[] literals, final int[] indexes, final TimeZone timeZone) {
+		this.literals = literals;
+		this.yearIndex = indexes[0];
+		this.monthIndex = indexes[1];
+		this.dayIndex = indexes[2];
+		this.hourIndex = indexes[3];
+		this.minuteIndex = indexes[4];
+		this.secondIndex = indexes[5];
+		this.millisIndex = indexes[6];
+		this.endsWithNumber = literals[literals.length - 1] == '\0';
+		this.timeZone = timeZone;
+	}
+
+	/**
+	 * 定长布局的字符数
+	 *
+	 * @return 字符数
+	 */
+	int getLength() {
+		return literals.length;
+	}
+
+	/**
+	 * 从指定位置按定长格式解析，使用构造时的时区
+	 *
+	 * @param source 日期字符串
+	 * @param start  开始位置
+	 * @return 毫秒数，无法按定长格式解析时返回{@link #NONE}
+	 */
+	long parse(final CharSequence source, final int start) {
+		if (source == null || start < 0) {
+			return NONE;
+		}
+		final int end = start + literals.length;
+		final int sourceLength = source.length();
+		if (end > sourceLength || (endsWithNumber && end < sourceLength && Character.isDigit(source.charAt(end)))) {
+			return NONE;
+		}
+		for (int i = 0; i < literals.length; i++) {
+			final char c = source.charAt(start + i);
+			if (literals[i] == '\0' ? (c < '0' || c > '9') : c != literals[i]) {
+				return NONE;
+			}
+		}
+
+		final int year = readNumber(source, start + yearIndex, 4);
+		final int month = readNumber(source, start + monthIndex, 2);
+		final int day = readNumber(source, start + dayIndex, 2);
+		final int hour = hourIndex < 0 ? 0 : readNumber(source, start + hourIndex, 2);
+		final int minute = minuteIndex < 0 ? 0 : readNumber(source, start + minuteIndex, 2);
+		final int second = secondIndex < 0 ? 0 : readNumber(source, start + secondIndex, 2);
+		final int millis = millisIndex < 0 ? 0 : readNumber(source, start + millisIndex, 3);
+		// 越界的值在宽容模式下需要进位，在非宽容模式下需要报错，均交由Calendar处理
+		if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+				|| hour > 23 || minute > 59 || second > 59) {
+			return NONE;
+		}
+
+		final long localMillis = epochDay(year, month, day) * MILLIS_PER_DAY
+				+ ((hour * 60L + minute) * 60L + second) * 1000L + millis;
+		return toUtcMillis(localMillis, timeZone);
+	}
+
+	/**
+	 * 本地时间转换为UTC毫秒数<br>
+	 * 前后一天内偏移量不变时直接计算；临近夏令时等时区切换时，本地时间可能不存在或重复，返回{@link #NONE}交由Calendar处理
+	 *
+	 * @param localMillis 本地时间毫秒数
+	 * @param zone        时区
+	 * @return UTC毫秒数，无法直接计算返回{@link #NONE}
+	 */
+	private static long toUtcMillis(final long localMillis, final TimeZone zone) {
+		final ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+		final int index = null == table ? -1 : table.indexOf(localMillis);
+		if (index >= 0) {
+			// 结果前后一天均在同一偏移段内
+			final long utcMillis = localMillis - table.getOffset(index);
+			if (utcMillis - MILLIS_PER_DAY >= table.getStart(index) && utcMillis + MILLIS_PER_DAY < table.getEnd(index)) {
+				return utcMillis;
+			}
+		}
+
+		final int offset = zone.getOffset(localMillis - MILLIS_PER_DAY);
+		if (offset != zone.getOffset(localMillis + MILLIS_PER_DAY) || offset != zone.getOffset(localMillis - offset)) {
+			return NONE;
+		}
+		return localMillis - offset;
+	}
+
+	/**
+	 * 读取指定位置的数字，调用前已确认均为ASCII数字
+	 *
+	 * @param source 字符串
+	 * @param index  开始位置
+	 * @param width  位数
+	 * @return 数字
+	 */
+	private static int readNumber(final CharSequence source, final int index, final int width) {
+		int value = 0;
+		for (int i = index; i < index + width; i++) {
+			value = value * 10 + (source.charAt(i) - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * 计算格里高利历日期距1970-01-01的天数
+	 *
+	 * @param year  年，非负
+	 * @param month 月，1-12
+	 * @param day   日
+	 * @return 天数
+	 */
+	static long epochDay(final int year, final int month, final int day) {
+		final long y = year;
+		long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+		total += (367 * month - 362) / 12;
+		total += day - 1;
+		if (month > 2) {
+			total--;
+			if (!isLeapYear(year)) {
+				total--;
+			}
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
+	static int lengthOfMonth(final int year, final int month) {
+		switch (month) {
+			case 2:
+				return isLeapYear(year) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	private static boolean isLeapYear(final int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+}
@@ -0,0 +1,261 @@
+package datetool.core.format;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 定容缓存，用于缓存格式化器等创建代价较高的对象<br>
+ * 超出容量时按CLOCK（二次机会）算法淘汰，近似LRU：每个条目带有访问标记，命中时置位，
+ * 淘汰时时钟指针依次扫描，清除已置位的标记，淘汰第一个未被访问过的条目。
+ *
+ * <p>
+ * 读取只访问{@link ConcurrentHashMap}并设置访问标记，不加锁；写入和淘汰在锁内进行，缓存命中后写入很少发生。
+ * 命中、未命中、淘汰次数及当前大小见{@link #getStats()}。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @see FastDateFormat#getCacheStats()
+ */
+public final class FormatCache<K, V> {
+
+	private final ConcurrentHashMap<K, Node<K, V>> map;
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * 时钟环，只在锁内访问
+	 */
+	private Node<K, V>[] ring;
+	private int count;
+	private int hand;
+
+	/**
+	 * 构造
+	 *
+	 * @param capacity 容量，大于0
+	 */
+	public FormatCache(int capacity) {
+		checkCapacity(capacity);
+		this.map = new ConcurrentHashMap<>(Math.min(capacity, 64));
+		this.ring = newRing(capacity);
+	}
+
+	/**
+	 * 获取缓存的值，命中时标记为最近访问
+	 *
+	 * @param key 键
+	 * @return 值，不存在返回{@code null}
+	 */
+	public V get(K key) {
+		final Node<K, V> node = map.get(key);
+		if (null == node) {
+			missCount.increment();
+			return null;
+		}
+		if (!node.referenced) {
+			node.referenced = true;
+		}
+		hitCount.increment();
+		return node.value;
+	}
+
+	/**
+	 * 不存在时加入缓存，超出容量时淘汰一个条目
+	 *
+	 * @param key   键
+	 * @param value 值
+	 * @return 已存在的值，不存在时返回{@code null}（表示已加入给定值）
+	 */
+	public synchronized V putIfAbsent(K key, V value) {
+		final Node<K, V> existing = map.get(key);
+		if (null != existing) {
+			existing.referenced = true;
+			return existing.value;
+		}
+		final Node<K, V> node = new Node<>(key, value);
+		if (count < ring.length) {
+			ring[count++] = node;
+		} else {
+			// 清除沿途的访问标记，淘汰第一个未被访问的条目
+			while (ring[hand].referenced) {
+				ring[hand].referenced = false;
+				hand = (hand + 1) % ring.length;
+			}
+			map.remove(ring[hand].key, ring[hand]);
+			evictionCount.increment();
+			ring[hand] = node;
+			hand = (hand + 1) % ring.length;
+		}
+		map.put(key, node);
+		return null;
+	}
+
+	/**
+	 * 获取容量
+	 *
+	 * @return 容量
+	 */
+	public synchronized int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * 修改容量，缩小时按时钟顺序保留条目，多余的条目被淘汰
+	 *
+	 * @param capacity 容量，大于0
+	 */
+	public synchronized void setCapacity(int capacity) {
+		checkCapacity(capacity);
+		final Node<K, V>[] newRing = newRing(capacity);
+		int newCount = 0;
+		for (int i = 0; i < count; i++) {
+			final Node<K, V> node = ring[(hand + i) % count];
+			if (newCount < capacity) {
+				newRing[newCount++] = node;
+			} else {
+				map.remove(node.key, node);
+				evictionCount.increment();
+			}
+		}
+		ring = newRing;
+		count = newCount;
+		hand = 0;
+	}
+
+	/**
+	 * 清空缓存，统计数据保留
+	 */
+	public synchronized void clear() {
+		map.clear();
+		ring = newRing(ring.length);
+		count = 0;
+		hand = 0;
+	}
+
+	/**
+	 * 当前缓存的条目数
+	 *
+	 * @return 条目数
+	 */
+	public int size() {
+		return map.size();
+	}
+
+	/**
+	 * 获取统计数据快照
+	 *
+	 * @return 统计数据
+	 */
+	public Stats getStats() {
+		return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size(), getCapacity());
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static <K, V> Node<K, V>[] newRing(int capacity) {
+		return new Node[capacity];
+	}
+
+	private static void checkCapacity(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+	}
+
+	/**
+	 * 缓存条目
+	 */
+	private static final class Node<K, V> {
+		final K key;
+		final V value;
+		/**
+		 * 自上次时钟扫描后是否被访问过
+		 */
+		volatile boolean referenced;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * 缓存统计数据快照
+	 */
+	public static final class Stats {
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final int size;
+		private final int capacity;
+
+		Stats(long hitCount, long missCount, long evictionCount, int size, int capacity) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.size = size;
+			this.capacity = capacity;
+		}
+
+		/**
+		 * 命中次数
+		 *
+		 * @return 命中次数
+		 */
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		/**
+		 * 未命中次数
+		 *
+		 * @return 未命中次数
+		 */
+		public long getMissCount() {
+			return missCount;
+		}
+
+		/**
+		 * 淘汰次数
+		 *
+		 * @return 淘汰次数
+		 */
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		/**
+		 * 条目数
+		 *
+		 * @return 条目数
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * 容量
+		 *
+		 * @return 容量
+		 */
+		public int getCapacity() {
+			return capacity;
+		}
+
+		/**
+		 * 命中率，无请求时为1
+		 *
+		 * @return 命中率
+		 */
+		public double getHitRate() {
+			final long total = hitCount + missCount;
+			return total == 0 ? 1.0 : (double) hitCount / total;
+		}
+
+		@Override
+		public String toString() {
+			return "FormatCache.Stats[hit=" + hitCount + ", miss=" + missCount + ", eviction=" + evictionCount
+					+ ", size=" + size + ", capacity=" + capacity + "]";
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package datetool.core.format;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 全局自定义格式<br>
+ * 用于定义用户指定的日期格式和输出日期的关系，内置格式：
+ * <ul>
+ *     <li>{@link #FORMAT_SECONDS}：秒级时间戳</li>
+ *     <li>{@link #FORMAT_MILLISECONDS}：毫秒级时间戳</li>
+ * </ul>
+ */
+public class GlobalCustomFormat {
+
+	/**
+	 * 格式：秒时间戳（Unix时间戳）
+	 */
+	public static final String FORMAT_SECONDS = "#sss";
+	/**
+	 * 格式：毫秒时间戳
+	 */
+	public static final String FORMAT_MILLISECONDS = "#SSS";
+
+	private static final Map<CharSequence, Function<Date, String>> formatterMap;
+	private static final Map<CharSequence, Function<CharSequence, Date>> parserMap;
+
+	static {
+		formatterMap = new ConcurrentHashMap<>();
+		parserMap = new ConcurrentHashMap<>();
+
+		// Hutool预设的几种自定义格式
+		putFormatter(FORMAT_SECONDS, (date) -> String.valueOf(Math.floorDiv(date.getTime(), 1000L)));
+		putParser(FORMAT_SECONDS, (dateStr) -> new Date(Math.multiplyExact(Long.parseLong(dateStr.toString()), 1000L)));
+
+		putFormatter(FORMAT_MILLISECONDS, (date) -> String.valueOf(date.getTime()));
+		putParser(FORMAT_MILLISECONDS, (dateStr) -> new Date(Long.parseLong(dateStr.toString())));
+	}
+
+	/**
+	 * 加入日期格式化规则
+	 *
+	 * @param format 格式
+	 * @param func   格式化函数
+	 */
+	public static void putFormatter(String format, Function<Date, String> func) {
+		formatterMap.put(format, func);
+	}
+
+	/**
+	 * 加入日期解析规则
+	 *
+	 * @param format 格式
+	 * @param func   解析函数
+	 */
+	public static void putParser(String format, Function<CharSequence, Date> func) {
+		parserMap.put(format, func);
+	}
+
+	/**
+	 * 检查指定格式是否为自定义格式，即是否注册了格式化规则
+	 *
+	 * @param format 格式
+	 * @return 是否为自定义格式
+	 */
+	public static boolean isCustomFormat(String format) {
+		return formatterMap.containsKey(format);
+	}
+
+	/**
+	 * 检查指定格式是否注册了解析规则，只注册了格式化规则的格式按普通日期格式解析
+	 *
+	 * @param format 格式
+	 * @return 是否注册了解析规则
+	 */
+	public static boolean isCustomParseFormat(String format) {
+		return parserMap.containsKey(format);
+	}
+
+	/**
+	 * 使用自定义格式格式化日期
+	 *
+	 * @param date   日期
+	 * @param format 自定义格式
+	 * @return 格式化后的日期，格式未注册返回{@code null}
+	 */
+	public static String format(Date date, CharSequence format) {
+		final Function<Date, String> func = formatterMap.get(format);
+		return null == func ? null : func.apply(date);
+	}
+
+	/**
+	 * 使用自定义格式解析日期
+	 *
+	 * @param dateStr 日期字符串
+	 * @param format  自定义格式
+	 * @return 日期，格式未注册返回{@code null}
+	 */
+	public static Date parse(CharSequence dateStr, String format) {
+		final Function<CharSequence, Date> func = parserMap.get(format);
+		return null == func ? null : func.apply(dateStr);
+	}
+}
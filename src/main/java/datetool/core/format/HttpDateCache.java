@@ -0,0 +1,221 @@
+package datetool.core.format;
+
+import datetool.core.DatePattern;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP头日期的缓存，格式遵循RFC 7231（IMF-fixdate），例如：Sun, 06 Nov 1994 08:49:37 GMT<br>
+ * HTTP日期精确到秒，最近若干秒的结果预先生成字符串和US-ASCII字节，同一秒内的格式化直接返回缓存。
+ * 缓存在访问时按需更新，也可通过{@link #startTicker(ScheduledExecutorService)}每秒刷新，使请求线程不再格式化。
+ *
+ * <p>
+ * 解析支持RFC 7231要求接收方兼容的三种格式，用于If-Modified-Since等请求头：
+ * <ul>
+ *     <li>IMF-fixdate：Sun, 06 Nov 1994 08:49:37 GMT，按固定位置直接计算，不创建{@link java.util.Calendar}</li>
+ *     <li>RFC 850：Sunday, 06-Nov-94 08:49:37 GMT</li>
+ *     <li>asctime：Sun Nov  6 08:49:37 1994</li>
+ * </ul>
+ *
+ * <p>
+ * 此类线程安全，不加锁。
+ *
+ * @see DatePattern#HTTP_DATETIME_FORMAT
+ */
+public final class HttpDateCache {
+
+	private static final HttpDateCache INSTANCE = new HttpDateCache();
+
+	/**
+	 * 缓存的秒数，按秒数取模存放，须为2的幂
+	 */
+	private static final int SLOTS = 16;
+	private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+	/**
+	 * IMF-fixdate的长度
+	 */
+	private static final int FIXDATE_LENGTH = 29;
+	private static final String[] DAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+	private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+	private static final String[] PATTERNS = {DatePattern.HTTP_DATETIME_PATTERN, "EEEE, dd-MMM-yy HH:mm:ss zzz", "EEE MMM d HH:mm:ss yyyy"};
+
+	/**
+	 * 最近各秒的格式化结果，多线程下读到旧值或{@code null}时重新生成，不影响结果
+	 */
+	private final Entry[] entries = new Entry[SLOTS];
+
+	private HttpDateCache() {
+	}
+
+	/**
+	 * 获取共享的实例
+	 *
+	 * @return HttpDateCache
+	 */
+	public static HttpDateCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * 当前时间的HTTP日期
+	 *
+	 * @return HTTP日期字符串
+	 */
+	public String current() {
+		return entryOf(System.currentTimeMillis()).text;
+	}
+
+	/**
+	 * 当前时间的HTTP日期，US-ASCII编码
+	 *
+	 * @return HTTP日期字节，返回的数组为缓存本身，调用方不能修改
+	 */
+	public byte[] currentBytes() {
+		return entryOf(System.currentTimeMillis()).bytes;
+	}
+
+	/**
+	 * 格式化为HTTP日期，毫秒部分舍去
+	 *
+	 * @param millis 毫秒数
+	 * @return HTTP日期字符串
+	 */
+	public String format(long millis) {
+		return entryOf(millis).text;
+	}
+
+	/**
+	 * 格式化为HTTP日期，按US-ASCII写入缓冲区的当前位置，写入后position后移
+	 *
+	 * @param millis 毫秒数
+	 * @param buffer 缓冲区，堆内或直接内存
+	 * @return 写入的字节数
+	 * @throws BufferOverflowException 缓冲区剩余空间不足，此时不写入任何内容
+	 */
+	public int formatTo(long millis, ByteBuffer buffer) {
+		final byte[] bytes = entryOf(millis).bytes;
+		if (buffer.remaining() < bytes.length) {
+			throw new BufferOverflowException();
+		}
+		buffer.put(bytes);
+		return bytes.length;
+	}
+
+	/**
+	 * 启动每秒一次的刷新任务，在每秒开始时生成当前秒的结果
+	 *
+	 * @param executor 执行刷新任务的线程池
+	 * @return 刷新任务，取消即可停止刷新
+	 */
+	public ScheduledFuture<?> startTicker(ScheduledExecutorService executor) {
+		final long delay = 1000L - Math.floorMod(System.currentTimeMillis(), 1000L);
+		return executor.scheduleAtFixedRate(this::current, delay, 1000L, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 解析HTTP日期，支持IMF-fixdate、RFC 850和asctime三种格式，解析失败时不抛出异常
+	 *
+	 * @param source HTTP日期字符串，可以为{@code null}
+	 * @return 毫秒数，解析失败返回{@link Long#MIN_VALUE}
+	 */
+	public long parse(CharSequence source) {
+		if (null == source) {
+			return Long.MIN_VALUE;
+		}
+		final long millis = parseFixdate(source);
+		if (Long.MIN_VALUE != millis) {
+			return millis;
+		}
+		return MultiPatternParser.getInstance(TimeZone.getTimeZone("GMT"), Locale.US, PATTERNS).tryParse(source, false);
+	}
+
+	/**
+	 * 按固定位置解析IMF-fixdate
+	 *
+	 * @param source 字符串
+	 * @return 毫秒数，不符合格式、字段越界或早于1583年时返回{@link Long#MIN_VALUE}
+	 */
+	private static long parseFixdate(CharSequence source) {
+		if (source.length() != FIXDATE_LENGTH || source.charAt(3) != ',' || source.charAt(4) != ' ' || source.charAt(7) != ' '
+				|| source.charAt(11) != ' ' || source.charAt(16) != ' ' || source.charAt(19) != ':' || source.charAt(22) != ':'
+				|| source.charAt(25) != ' ' || source.charAt(26) != 'G' || source.charAt(27) != 'M' || source.charAt(28) != 'T'
+				|| indexOf(DAYS, source, 0) < 0) {
+			return Long.MIN_VALUE;
+		}
+		final int month = indexOf(MONTHS, source, 8) + 1;
+		final int day = readNumber(source, 5, 2);
+		final int year = readNumber(source, 12, 4);
+		final int hour = readNumber(source, 17, 2);
+		final int minute = readNumber(source, 20, 2);
+		final int second = readNumber(source, 23, 2);
+		if (month < 1 || day < 1 || year < FixedDateParser.MIN_YEAR || hour < 0 || hour > 23 || minute < 0 || minute > 59
+				|| second < 0 || second > 59 || day > FixedDateParser.lengthOfMonth(year, month)) {
+			return Long.MIN_VALUE;
+		}
+		return FixedDateParser.epochDay(year, month, day) * MILLIS_PER_DAY + ((hour * 60L + minute) * 60 + second) * 1000;
+	}
+
+	private static int indexOf(String[] names, CharSequence source, int index) {
+		for (int i = 0; i < names.length; i++) {
+			final String name = names[i];
+			if (source.charAt(index) == name.charAt(0) && source.charAt(index + 1) == name.charAt(1)
+					&& source.charAt(index + 2) == name.charAt(2)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 读取指定位置的数字
+	 *
+	 * @return 数字，含非ASCII数字时返回-1
+	 */
+	private static int readNumber(CharSequence source, int index, int width) {
+		int value = 0;
+		for (int i = index; i < index + width; i++) {
+			final char c = source.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	/**
+	 * 获取给定时间所在秒的缓存，未命中时重新生成
+	 */
+	private Entry entryOf(long millis) {
+		final long second = Math.floorDiv(millis, 1000L);
+		final int slot = (int) second & (SLOTS - 1);
+		Entry entry = entries[slot];
+		if (null == entry || entry.second != second) {
+			entry = new Entry(second, DatePattern.HTTP_DATETIME_FORMAT.format(second * 1000L));
+			entries[slot] = entry;
+		}
+		return entry;
+	}
+
+	/**
+	 * 一秒的HTTP日期
+	 */
+	private static final class Entry {
+		final long second;
+		final String text;
+		final byte[] bytes;
+
+		Entry(long second, String text) {
+			this.second = second;
+			this.text = text;
+			this.bytes = text.getBytes(StandardCharsets.US_ASCII);
+		}
+	}
+}
@@ -0,0 +1,347 @@
+package datetool.core.format;
+
+import java.text.ParsePosition;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.TimeZone;
+
+/**
+ * 多格式日期解析器，按顺序尝试多个格式，返回第一个完整匹配的结果<br>
+ * 各格式的{@link FastDateParser}在构造时创建一次，解析前按输入的特征预先排除不可能匹配的格式：
+ * <ul>
+ *     <li>长度：短于格式的最短长度（字面量加每个字段一个字符）的输入不尝试</li>
+ *     <li>字符特征：数字和空白之外的字符只能来自字面量，纯数字字段的格式要求这些字符与字面量顺序一致；
+ *     含文本字段的格式要求字面量中的字符都出现在输入中</li>
+ * </ul>
+ *
+ * <p>
+ * 成功次数多的格式会逐步移到前面，只与不可能匹配同一输入的格式交换位置，
+ * 因此可能同时匹配的格式之间保持给定的顺序，结果与逐个按顺序尝试相同。
+ *
+ * <p>
+ * 此类线程安全，推荐通过{@link #getInstance(TimeZone, Locale, String...)}获取缓存的实例。
+ *
+ * @see datetool.core.CalendarUtil#parseByPatterns(String, Locale, boolean, String...)
+ */
+public final class MultiPatternParser {
+
+	private static final FormatCache<CacheKey, MultiPatternParser> CACHE = new FormatCache<>(64);
+	/**
+	 * 每个线程复用的查询键，命中缓存时不创建对象，只有加入缓存时才创建新的键
+	 */
+	private static final ThreadLocal<CacheKey> LOOKUP_KEY = ThreadLocal.withInitial(CacheKey::new);
+
+	private final String[] patterns;
+	private final TimeZone timeZone;
+	private final Locale locale;
+	private final FastDateParser[] parsers;
+	private final int[] minLengths;
+	/**
+	 * 纯数字字段格式的字面量中除数字和空白之外的字符，含文本字段的格式为{@code null}
+	 */
+	private final String[] shapes;
+	private final int[] shapeHashes;
+	/**
+	 * 字面量中除数字和空白之外的字符，按{@link #bitOf(char)}映射的位图
+	 */
+	private final long[] literalMasks;
+
+	/**
+	 * 当前的尝试顺序，调整时整体替换
+	 */
+	private volatile int[] order;
+	/**
+	 * 各格式的成功次数，仅用于调整顺序，多线程下丢失计数不影响结果
+	 */
+	private final int[] hits;
+
+	/**
+	 * 获取缓存的实例
+	 *
+	 * @param timeZone 时区，{@code null}表示默认时区，见{@link DefaultTimeZone}
+	 * @param locale   地区，{@code null}表示默认地区
+	 * @param patterns 日期格式，按顺序尝试，非空
+	 * @return 多格式解析器
+	 * @throws IllegalArgumentException 格式无效
+	 */
+	public static MultiPatternParser getInstance(TimeZone timeZone, Locale locale, String... patterns) {
+		final boolean defaultZone = null == timeZone;
+		if (defaultZone) {
+			// 查询时使用默认时区的快照，TimeZone.getDefault()每次都会复制
+			timeZone = DefaultTimeZone.get();
+		}
+		if (null == locale) {
+			locale = Locale.getDefault();
+		}
+		final CacheKey lookupKey = LOOKUP_KEY.get().set(timeZone, locale, patterns);
+		MultiPatternParser parser = CACHE.get(lookupKey);
+		// 查询键不持有调用方的对象
+		lookupKey.clear();
+		if (null == parser) {
+			if (defaultZone) {
+				// 快照为共享对象，实例持有自己的副本
+				timeZone = (TimeZone) timeZone.clone();
+			}
+			parser = new MultiPatternParser(timeZone, locale, patterns);
+			// 键使用复制后的格式，调用方修改数组不影响缓存
+			final MultiPatternParser existing = CACHE.putIfAbsent(
+					new CacheKey().set(timeZone, locale, parser.patterns), parser);
+			if (null != existing) {
+				parser = existing;
+			}
+		}
+		return parser;
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param timeZone 时区，非空
+	 * @param locale   地区，非空
+	 * @param patterns 日期格式，按顺序尝试，非空
+	 * @throws IllegalArgumentException 格式无效
+	 */
+	public MultiPatternParser(TimeZone timeZone, Locale locale, String... patterns) {
+		if (null == patterns) {
+			throw new IllegalArgumentException("Patterns must not be null");
+		}
+		this.patterns = patterns.clone();
+		this.timeZone = timeZone;
+		this.locale = locale;
+
+		final int size = patterns.length;
+		parsers = new FastDateParser[size];
+		minLengths = new int[size];
+		shapes = new String[size];
+		shapeHashes = new int[size];
+		literalMasks = new long[size];
+		order = new int[size];
+		hits = new int[size];
+		for (int i = 0; i < size; i++) {
+			final FastDateParser parser = new FastDateParser(this.patterns[i], timeZone, locale);
+			parsers[i] = parser;
+			minLengths[i] = parser.getMinLength();
+			final String literals = parser.getLiterals();
+			final StringBuilder shape = new StringBuilder();
+			for (int j = 0; j < literals.length(); j++) {
+				final char c = literals.charAt(j);
+				if (!isDigitOrWhitespace(c)) {
+					shape.append(c);
+					literalMasks[i] |= bitOf(c);
+				}
+			}
+			if (parser.isNumeric()) {
+				shapes[i] = shape.toString();
+				shapeHashes[i] = shapes[i].hashCode();
+			}
+			order[i] = i;
+		}
+	}
+
+	/**
+	 * 获取日期格式
+	 *
+	 * @return 日期格式，按给定顺序
+	 */
+	public String[] getPatterns() {
+		return patterns.clone();
+	}
+
+	/**
+	 * 获取时区
+	 *
+	 * @return 时区
+	 */
+	public TimeZone getTimeZone() {
+		return timeZone;
+	}
+
+	/**
+	 * 获取地区
+	 *
+	 * @return 地区
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+
+	/**
+	 * 解析日期字符串，输入需被格式完整匹配
+	 *
+	 * @param source  日期字符串，非空
+	 * @param lenient 是否宽容模式，非宽容模式下字段越界的格式视为不匹配
+	 * @return 解析后的Calendar，时区为格式中解析出的时区，所有格式都不匹配返回{@link Optional#empty()}
+	 */
+	public Optional<Calendar> parse(String source, boolean lenient) {
+		final Calendar calendar = CalendarPool.acquire(timeZone, locale);
+		try {
+			if (!parse(source, lenient, calendar)) {
+				return Optional.empty();
+			}
+			final Calendar result = Calendar.getInstance(calendar.getTimeZone(), locale);
+			result.setTimeInMillis(calendar.getTimeInMillis());
+			result.setLenient(lenient);
+			return Optional.of(result);
+		} finally {
+			CalendarPool.release(calendar);
+		}
+	}
+
+	/**
+	 * 解析日期字符串为毫秒数，输入需被格式完整匹配
+	 *
+	 * @param source  日期字符串，可以为{@code null}
+	 * @param lenient 是否宽容模式，非宽容模式下字段越界的格式视为不匹配
+	 * @return 毫秒数，所有格式都不匹配返回{@link Long#MIN_VALUE}
+	 */
+	public long tryParse(CharSequence source, boolean lenient) {
+		if (null == source) {
+			return Long.MIN_VALUE;
+		}
+		final Calendar calendar = CalendarPool.acquire(timeZone, locale);
+		try {
+			return parse(source.toString(), lenient, calendar) ? calendar.getTimeInMillis() : Long.MIN_VALUE;
+		} finally {
+			CalendarPool.release(calendar);
+		}
+	}
+
+	/**
+	 * 按当前顺序尝试各格式，解析结果写入calendar
+	 */
+	private boolean parse(String source, boolean lenient, Calendar calendar) {
+		final int length = source.length();
+		// 输入中数字和空白之外的字符，按顺序计算哈希，并记录位图
+		int shapeHash = 0;
+		int shapeLength = 0;
+		long mask = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = source.charAt(i);
+			if (!isDigitOrWhitespace(c)) {
+				shapeHash = 31 * shapeHash + c;
+				shapeLength++;
+				mask |= bitOf(c);
+			}
+		}
+
+		final TimeZone zone = calendar.getTimeZone();
+		final ParsePosition pos = new ParsePosition(0);
+		final int[] order = this.order;
+		boolean used = false;
+		for (int p = 0; p < order.length; p++) {
+			final int index = order[p];
+			if (length < minLengths[index]) {
+				continue;
+			}
+			final String shape = shapes[index];
+			if (null != shape) {
+				if (shapeLength != shape.length() || shapeHash != shapeHashes[index]) {
+					continue;
+				}
+			} else if ((literalMasks[index] & ~mask) != 0) {
+				continue;
+			}
+
+			if (used) {
+				calendar.clear();
+				// 时区策略会修改Calendar的时区
+				if (calendar.getTimeZone() != zone) {
+					calendar.setTimeZone(zone);
+				}
+				pos.setIndex(0);
+				pos.setErrorIndex(-1);
+			}
+			used = true;
+			if (parsers[index].parse(source, pos, calendar) && pos.getIndex() == length
+					&& (lenient || CalendarPool.isValidFields(calendar))) {
+				promote(order, p);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 记录成功次数，成功次数超过前一个格式且二者不可能匹配同一输入时交换位置
+	 */
+	private void promote(int[] order, int p) {
+		final int index = order[p];
+		final int count = hits[index];
+		if (count < Integer.MAX_VALUE) {
+			hits[index] = count + 1;
+		}
+		if (p > 0) {
+			final int previous = order[p - 1];
+			if (count + 1 > hits[previous] && isDisjoint(index, previous) && order == this.order) {
+				final int[] promoted = order.clone();
+				promoted[p - 1] = index;
+				promoted[p] = previous;
+				this.order = promoted;
+			}
+		}
+	}
+
+	/**
+	 * 两个纯数字字段的格式字面量特征不同时，任何输入都不可能同时匹配二者
+	 */
+	private boolean isDisjoint(int a, int b) {
+		return null != shapes[a] && null != shapes[b] && !shapes[a].equals(shapes[b]);
+	}
+
+	private static boolean isDigitOrWhitespace(char c) {
+		return Character.isDigit(c) || Character.isWhitespace(c);
+	}
+
+	private static long bitOf(char c) {
+		return 1L << (c & 63);
+	}
+
+	@Override
+	public String toString() {
+		return "MultiPatternParser[" + String.join(", ", patterns) + ", " + locale + ", " + timeZone.getID() + "]";
+	}
+
+	/**
+	 * 缓存键，按值比较时区、地区和格式数组，哈希值在设置时计算一次
+	 */
+	private static final class CacheKey {
+		private TimeZone timeZone;
+		private Locale locale;
+		private String[] patterns;
+		private int hashCode;
+
+		CacheKey set(final TimeZone timeZone, final Locale locale, final String[] patterns) {
+			this.timeZone = timeZone;
+			this.locale = locale;
+			this.patterns = patterns;
+			this.hashCode = (timeZone.hashCode() * 31 + locale.hashCode()) * 31 + Arrays.hashCode(patterns);
+			return this;
+		}
+
+		void clear() {
+			this.timeZone = null;
+			this.locale = null;
+			this.patterns = null;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			final CacheKey other = (CacheKey) obj;
+			return hashCode == other.hashCode && Arrays.equals(patterns, other.patterns)
+					&& timeZone.equals(other.timeZone) && locale.equals(other.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -0,0 +1,321 @@
+package datetool.core.format;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 时区偏移表<br>
+ * 预先计算一个时区在一段年份内的偏移切换，按切换时间排序存入数组，查询偏移时二分查找，固定偏移的时区直接返回。
+ * 偏移量及夏令时偏移以{@link Calendar}的计算结果为准，切换时间取自{@link ZoneRules}并逐月校验，
+ * 可弥补二者在地方平时、负夏令时及仅夏令时标记变化等情况下的差异。
+ *
+ * <p>
+ * 年份范围默认为[1900, 2100)，可通过系统属性{@code datetool.zoneOffsetTable.startYear}和{@code datetool.zoneOffsetTable.endYear}设置，
+ * 范围之外的时间不在表中，调用方需退回{@link Calendar}或{@link TimeZone#getOffset(long)}。
+ *
+ * @see FastDatePrinter
+ */
+public final class ZoneOffsetTable {
+
+	private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+	/**
+	 * 逐段校验的间隔，仅夏令时标记变化的切换不在{@link ZoneRules}中，需按此间隔抽查
+	 */
+	private static final long CHECK_INTERVAL = 31 * MILLIS_PER_DAY;
+	private static final long TABLE_START = startOfYear(Integer.getInteger("datetool.zoneOffsetTable.startYear", 1900));
+	private static final long TABLE_END = startOfYear(Integer.getInteger("datetool.zoneOffsetTable.endYear", 2100));
+
+	private static final FormatCache<TimeZone, ZoneOffsetTable> CACHE = new FormatCache<>(64);
+	/**
+	 * 表示时区没有偏移表，与正常的偏移表一样缓存，避免每次重复构建
+	 */
+	private static final ZoneOffsetTable NONE = new ZoneOffsetTable(null, new long[0], 0, new int[0], new int[0]);
+	/**
+	 * 最近一次查询的时区对象及其偏移表，同一时区对象重复查询时无需计算哈希
+	 */
+	private static volatile LastLookup last;
+
+	private final TimeZone zone;
+	/**
+	 * 各段的起始时间，升序
+	 */
+	private final long[] starts;
+	/**
+	 * 最后一段的结束时间（不包含）
+	 */
+	private final long end;
+	private final int[] offsets;
+	private final int[] dstOffsets;
+	/**
+	 * 最近一次查询命中的段，仅作为查找的起点，多线程下读到旧值不影响结果
+	 */
+	private int hint;
+
+	private ZoneOffsetTable(TimeZone zone, long[] starts, long end, int[] offsets, int[] dstOffsets) {
+		this.zone = zone;
+		this.starts = starts;
+		this.end = end;
+		this.offsets = offsets;
+		this.dstOffsets = dstOffsets;
+	}
+
+	/**
+	 * 获取时区的偏移表，按时区缓存，没有偏移表的时区同样缓存
+	 *
+	 * @param zone 时区
+	 * @return 偏移表，非标准时区（与同ID的系统时区规则不同）返回{@code null}
+	 */
+	public static ZoneOffsetTable of(TimeZone zone) {
+		final LastLookup cached = last;
+		if (null != cached && cached.zone == zone) {
+			return NONE == cached.table ? null : cached.table;
+		}
+		ZoneOffsetTable table = CACHE.get(zone);
+		if (null == table) {
+			table = build(zone);
+			final TimeZone key;
+			if (null == table) {
+				// 以副本为键，调用方之后修改时区不影响缓存
+				key = (TimeZone) zone.clone();
+				table = NONE;
+			} else {
+				key = table.zone;
+			}
+			final ZoneOffsetTable existing = CACHE.putIfAbsent(key, table);
+			if (null != existing) {
+				table = existing;
+			}
+		}
+		last = new LastLookup(zone, table);
+		return NONE == table ? null : table;
+	}
+
+	/**
+	 * 查询给定时间所在的段
+	 *
+	 * @param millis 毫秒数
+	 * @return 段的索引，不在表中返回-1
+	 */
+	public int indexOf(long millis) {
+		if (millis < starts[0] || millis >= end) {
+			return -1;
+		}
+		final int hint = this.hint;
+		if (millis >= starts[hint] && (hint + 1 == starts.length || millis < starts[hint + 1])) {
+			return hint;
+		}
+		int index = Arrays.binarySearch(starts, millis);
+		if (index < 0) {
+			index = -index - 2;
+		}
+		this.hint = index;
+		return index;
+	}
+
+	/**
+	 * 段的起始时间（包含）
+	 *
+	 * @param index 段的索引
+	 * @return 起始时间
+	 */
+	public long getStart(int index) {
+		return starts[index];
+	}
+
+	/**
+	 * 段的结束时间（不包含）
+	 *
+	 * @param index 段的索引
+	 * @return 结束时间
+	 */
+	public long getEnd(int index) {
+		return index + 1 == starts.length ? end : starts[index + 1];
+	}
+
+	/**
+	 * 段内的总偏移（标准偏移加夏令时偏移）
+	 *
+	 * @param index 段的索引
+	 * @return 总偏移毫秒数
+	 */
+	public int getOffset(int index) {
+		return offsets[index];
+	}
+
+	/**
+	 * 段内的夏令时偏移
+	 *
+	 * @param index 段的索引
+	 * @return 夏令时偏移毫秒数
+	 */
+	public int getDstOffset(int index) {
+		return dstOffsets[index];
+	}
+
+	/**
+	 * 获取给定时间的总偏移，不在表中时使用{@link TimeZone#getOffset(long)}
+	 *
+	 * @param millis 毫秒数
+	 * @return 总偏移毫秒数
+	 */
+	public int getOffset(long millis) {
+		final int index = indexOf(millis);
+		return index < 0 ? zone.getOffset(millis) : offsets[index];
+	}
+
+	/**
+	 * 将毫秒数拆分为本地时间的各字段
+	 *
+	 * @param millis 毫秒数
+	 * @return 日期字段，不在表中或早于1583年时返回{@code null}
+	 */
+	public DateFields toFields(long millis) {
+		final int index = indexOf(millis);
+		if (index < 0) {
+			return null;
+		}
+		final int offset = offsets[index];
+		return DateFields.of(millis + offset, offset, dstOffsets[index]);
+	}
+
+	/**
+	 * 将毫秒数拆分为本地时间的各字段，写入已有对象
+	 *
+	 * @param millis 毫秒数
+	 * @param fields 日期字段
+	 * @return 是否计算成功，不在表中或早于1583年时返回{@code false}
+	 */
+	boolean toFields(long millis, DateFields fields) {
+		final int index = indexOf(millis);
+		if (index < 0) {
+			return false;
+		}
+		final int offset = offsets[index];
+		return fields.set(millis + offset, offset, dstOffsets[index]);
+	}
+
+	// ------------------------------------------------------------------------------------------- Build
+
+	private static ZoneOffsetTable build(TimeZone zone) {
+		final ZoneRules rules;
+		try {
+			rules = zone.toZoneId().getRules();
+		} catch (DateTimeException e) {
+			return null;
+		}
+		if (!zone.equals(TimeZone.getTimeZone(zone.getID()))) {
+			// 自定义规则的时区
+			return null;
+		}
+		final TimeZone copy = (TimeZone) zone.clone();
+		final Calendar calendar = CalendarPool.acquire(copy, Locale.ROOT);
+		try {
+			return build(copy, rules, calendar);
+		} finally {
+			CalendarPool.release(calendar);
+		}
+	}
+
+	private static ZoneOffsetTable build(TimeZone zone, ZoneRules rules, Calendar calendar) {
+		if (rules.isFixedOffset() && !zone.useDaylightTime()) {
+			return new ZoneOffsetTable(zone, new long[]{Long.MIN_VALUE}, Long.MAX_VALUE,
+					new int[]{offsetOf(calendar, 0)}, new int[]{dstOffsetOf(calendar, 0)});
+		}
+
+		long[] starts = new long[64];
+		int[] offsets = new int[64];
+		int[] dstOffsets = new int[64];
+		int count = 0;
+		long start = TABLE_START;
+		while (start < TABLE_END) {
+			final int offset = offsetOf(calendar, start);
+			final int dstOffset = dstOffsetOf(calendar, start);
+			long end = nextTransition(rules, start);
+			// 逐月抽查，发现不一致时二分查找切换时间
+			for (long checked = start; checked < end; ) {
+				final long next = Math.min(end - 1, checked + CHECK_INTERVAL);
+				if (!isSame(calendar, next, offset, dstOffset)) {
+					long low = checked;
+					long high = next;
+					while (high - low > 1) {
+						final long mid = low + (high - low) / 2;
+						if (isSame(calendar, mid, offset, dstOffset)) {
+							low = mid;
+						} else {
+							high = mid;
+						}
+					}
+					end = high;
+					break;
+				}
+				checked = next + 1;
+			}
+
+			// ZoneRules中的切换在Calendar中无变化时与上一段合并
+			if (count == 0 || offsets[count - 1] != offset || dstOffsets[count - 1] != dstOffset) {
+				if (count == starts.length) {
+					starts = Arrays.copyOf(starts, count * 2);
+					offsets = Arrays.copyOf(offsets, count * 2);
+					dstOffsets = Arrays.copyOf(dstOffsets, count * 2);
+				}
+				starts[count] = start;
+				offsets[count] = offset;
+				dstOffsets[count] = dstOffset;
+				count++;
+			}
+			start = end;
+		}
+
+		long tableEnd = TABLE_END;
+		// 已无夏令时的时区，表尾之后偏移不再变化
+		if (!zone.useDaylightTime() && null == rules.nextTransition(Instant.ofEpochMilli(TABLE_END))
+				&& isSame(calendar, TABLE_END + 100 * 365 * MILLIS_PER_DAY, offsets[count - 1], dstOffsets[count - 1])) {
+			tableEnd = Long.MAX_VALUE;
+		}
+		return new ZoneOffsetTable(zone, Arrays.copyOf(starts, count), tableEnd,
+				Arrays.copyOf(offsets, count), Arrays.copyOf(dstOffsets, count));
+	}
+
+	/**
+	 * {@link ZoneRules}中给定时间之后的下一次切换，不超过表尾
+	 */
+	private static long nextTransition(ZoneRules rules, long millis) {
+		final ZoneOffsetTransition next = rules.nextTransition(Instant.ofEpochMilli(millis));
+		return null == next ? TABLE_END : Math.min(TABLE_END, next.toEpochSecond() * 1000L);
+	}
+
+	private static boolean isSame(Calendar calendar, long millis, int offset, int dstOffset) {
+		return offsetOf(calendar, millis) == offset && calendar.get(Calendar.DST_OFFSET) == dstOffset;
+	}
+
+	private static int offsetOf(Calendar calendar, long millis) {
+		calendar.setTimeInMillis(millis);
+		return calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+	}
+
+	private static int dstOffsetOf(Calendar calendar, long millis) {
+		calendar.setTimeInMillis(millis);
+		return calendar.get(Calendar.DST_OFFSET);
+	}
+
+	private static long startOfYear(int year) {
+		final long y = year - 1L;
+		return (365 * y + Math.floorDiv(y, 4L) - Math.floorDiv(y, 100L) + Math.floorDiv(y, 400L) - 719162) * MILLIS_PER_DAY;
+	}
+
+	private static final class LastLookup {
+		final TimeZone zone;
+		final ZoneOffsetTable table;
+
+		LastLookup(TimeZone zone, ZoneOffsetTable table) {
+			this.zone = zone;
+			this.table = table;
+		}
+	}
+}
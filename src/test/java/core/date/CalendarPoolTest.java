@@ -0,0 +1,114 @@
+package core.date;
+
+import datetool.core.DatePattern;
+import datetool.core.DateTime;
+import datetool.core.format.CalendarPool;
+import datetool.core.format.FastDateParser;
+import datetool.core.format.FastDatePrinter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * CalendarPool单元测试
+ */
+public class CalendarPoolTest {
+
+	private static final TimeZone SHANGHAI = TimeZone.getTimeZone("Asia/Shanghai");
+
+	@After
+	public void restoreMode() {
+		CalendarPool.setMode(CalendarPool.Mode.THREAD_LOCAL);
+	}
+
+	@Test
+	public void reuseTest() {
+		final Calendar calendar = CalendarPool.acquire(SHANGHAI, Locale.CHINA);
+		// 嵌套借出时不能得到同一个对象
+		final Calendar nested = CalendarPool.acquire(SHANGHAI, Locale.CHINA);
+		Assert.assertNotSame(calendar, nested);
+		CalendarPool.release(nested);
+
+		calendar.setTimeZone(TimeZone.getTimeZone("UTC"));
+		calendar.setLenient(false);
+		calendar.set(Calendar.YEAR, 2000);
+		CalendarPool.release(calendar);
+
+		final Calendar reused = CalendarPool.acquire(SHANGHAI, Locale.CHINA);
+		Assert.assertSame(calendar, reused);
+		Assert.assertEquals(SHANGHAI.getID(), reused.getTimeZone().getID());
+		Assert.assertTrue(reused.isLenient());
+		Assert.assertFalse(reused.isSet(Calendar.YEAR));
+		CalendarPool.release(reused);
+
+		Assert.assertNotSame(calendar, CalendarPool.acquire(TimeZone.getTimeZone("UTC"), Locale.CHINA));
+	}
+
+	@Test
+	public void notGregorianTest() {
+		final Locale thai = new Locale("th", "TH");
+		final Calendar calendar = CalendarPool.acquire(SHANGHAI, thai);
+		Assert.assertEquals(Calendar.getInstance(SHANGHAI, thai).getCalendarType(), calendar.getCalendarType());
+		CalendarPool.release(calendar);
+	}
+
+	@Test
+	public void stripedTest() throws Exception {
+		CalendarPool.setMode(CalendarPool.Mode.STRIPED);
+		final Calendar calendar = CalendarPool.acquire(SHANGHAI, Locale.CHINA);
+		CalendarPool.release(calendar);
+		Assert.assertSame(calendar, CalendarPool.acquire(SHANGHAI, Locale.CHINA));
+		CalendarPool.release(calendar);
+
+		concurrentParseAndFormat();
+	}
+
+	@Test
+	public void threadLocalConcurrentTest() throws Exception {
+		concurrentParseAndFormat();
+	}
+
+	@Test
+	public void noneTest() {
+		CalendarPool.setMode(CalendarPool.Mode.NONE);
+		final Calendar calendar = CalendarPool.acquire(SHANGHAI, Locale.CHINA);
+		CalendarPool.release(calendar);
+		Assert.assertNotSame(calendar, CalendarPool.acquire(SHANGHAI, Locale.CHINA));
+		Assert.assertEquals("2023-03-15 12:34:56", new DateTime("2023-03-15 12:34:56", DatePattern.NORM_DATETIME_FORMAT, false).toString());
+	}
+
+	private static void concurrentParseAndFormat() throws Exception {
+		// 非定长格式，经由Calendar解析和格式化
+		final FastDateParser parser = new FastDateParser("yyyy-M-d H:m:s z", SHANGHAI, Locale.US);
+		final FastDatePrinter printer = new FastDatePrinter("yyyy-M-d H:m:s z w", SHANGHAI, Locale.US);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				final int seed = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 2000; i++) {
+						final long millis = 1678854896000L + (seed * 2000L + i) * 86400000L;
+						final String formatted = printer.format(millis);
+						Assert.assertEquals(formatted, millis, parser.parse(formatted, new ParsePosition(0)).getTime());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
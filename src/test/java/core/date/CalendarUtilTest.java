@@ -1,13 +1,24 @@
 package core.date;
 
 import datetool.core.CalendarUtil;
+import datetool.core.DateException;
 import datetool.core.DatePattern;
 import datetool.DateUtil;
+import datetool.core.enums.DateField;
+import datetool.core.format.FastDateFormat;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
 import java.util.Objects;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.function.Function;
 
 public class CalendarUtilTest {
 
@@ -29,4 +40,104 @@ public class CalendarUtilTest {
 		// 在使用严格模式时，秒不正确，抛出异常
 		DateUtil.date(calendar);
 	}
+
+	@Test
+	public void tryParseByPatternsTest() {
+		final String[] patterns = {DatePattern.NORM_DATETIME_PATTERN, DatePattern.NORM_DATE_PATTERN};
+		Assert.assertEquals(DateUtil.parse("2023-03-15").getTime(),
+				CalendarUtil.tryParseByPatterns("2023-03-15", null, true, patterns).get().getTimeInMillis());
+		Assert.assertFalse(CalendarUtil.tryParseByPatterns("2023/03/15", null, true, patterns).isPresent());
+
+		// 严格模式下字段越界时尝试下一个格式
+		Assert.assertFalse(CalendarUtil.tryParseByPatterns("2023-02-30", null, false, patterns).isPresent());
+		Assert.assertEquals(DateUtil.parse("2023-03-02").getTime(),
+				CalendarUtil.tryParseByPatterns("2023-02-30", null, true, patterns).get().getTimeInMillis());
+		Assert.assertEquals(DateUtil.parse("2023-03-15").getTime(),
+				CalendarUtil.tryParseByPatterns("2023-3-15", null, false, "yyyy-MM-dd HH", "yyyy-M-d").get().getTimeInMillis());
+		Assert.assertThrows(DateException.class, () -> CalendarUtil.parseByPatterns("2023-02-30", null, false, patterns));
+	}
+
+	@Test
+	public void beginAndEndOfMillisTest() {
+		final TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+		// 期望值同样按上海时区解析，与JVM默认时区无关
+		final FastDateFormat format = FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN, shanghai);
+		final long millis = DateUtil.parse("2023-05-17 12:34:56", format).getTime();
+		Assert.assertEquals(DateUtil.parse("2023-05-17 00:00:00", format).getTime(), CalendarUtil.beginOfDay(millis, shanghai));
+		Assert.assertEquals(DateUtil.parse("2023-05-17 12:59:59", format).getTime() + 999, CalendarUtil.endOfHour(millis, shanghai));
+		Assert.assertEquals(DateUtil.parse("2023-05-15 00:00:00", format).getTime(), CalendarUtil.beginOfWeek(millis, shanghai));
+		Assert.assertEquals(DateUtil.parse("2023-04-01 00:00:00", format).getTime(), CalendarUtil.beginOfQuarter(millis, shanghai));
+		Assert.assertEquals(DateUtil.parse("2023-12-31 23:59:59", format).getTime() + 999, CalendarUtil.endOfYear(millis, shanghai));
+	}
+
+	/**
+	 * 与Calendar计算结果比对，包括夏令时、半小时偏移及跨日期变更线的时区
+	 */
+	@Test
+	public void beginAndEndOfMillisSameAsCalendarTest() {
+		final String[] zones = {"Asia/Shanghai", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe",
+				"Pacific/Apia", "America/Sao_Paulo", "UTC"};
+		final List<Function<Calendar, Calendar>> byCalendar = Arrays.asList(CalendarUtil::beginOfHour, CalendarUtil::endOfHour,
+				CalendarUtil::beginOfDay, CalendarUtil::endOfDay, calendar -> CalendarUtil.beginOfWeek(calendar, false),
+				CalendarUtil::endOfWeek, CalendarUtil::beginOfMonth, CalendarUtil::endOfMonth,
+				CalendarUtil::beginOfQuarter, CalendarUtil::endOfQuarter, CalendarUtil::beginOfYear, CalendarUtil::endOfYear);
+		final Random random = new Random(13);
+		for (String id : zones) {
+			final TimeZone zone = TimeZone.getTimeZone(id);
+			for (int i = 0; i < 2000; i++) {
+				// 1900至2040年
+				final long millis = -2208988800000L + (long) (random.nextDouble() * 4417977600000L);
+				final long[] byMillis = {CalendarUtil.beginOfHour(millis, zone), CalendarUtil.endOfHour(millis, zone),
+						CalendarUtil.beginOfDay(millis, zone), CalendarUtil.endOfDay(millis, zone),
+						CalendarUtil.beginOfWeek(millis, zone, false), CalendarUtil.endOfWeek(millis, zone),
+						CalendarUtil.beginOfMonth(millis, zone), CalendarUtil.endOfMonth(millis, zone),
+						CalendarUtil.beginOfQuarter(millis, zone), CalendarUtil.endOfQuarter(millis, zone),
+						CalendarUtil.beginOfYear(millis, zone), CalendarUtil.endOfYear(millis, zone)};
+				for (int k = 0; k < byMillis.length; k++) {
+					Assert.assertEquals(id + " " + millis + " #" + k,
+							byCalendar.get(k).apply(CalendarUtil.calendar(millis, zone)).getTimeInMillis(), byMillis[k]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 与{@link Calendar#add(int, int)}比对，时间取随机时间及夏令时切换前后，包括跳过整天、负夏令时及半小时夏令时的时区
+	 */
+	@Test
+	public void offsetSameAsCalendarTest() {
+		final String[] zones = {"America/New_York", "Europe/London", "Europe/Dublin", "Australia/Lord_Howe",
+				"Pacific/Apia", "America/Sao_Paulo", "Asia/Shanghai", "UTC"};
+		final Random random = new Random(23);
+		for (String id : zones) {
+			final TimeZone zone = TimeZone.getTimeZone(id);
+			final List<Long> times = new ArrayList<>();
+			for (int i = 0; i < 300; i++) {
+				// 1900至2040年
+				times.add(-2208988800000L + (long) (random.nextDouble() * 4417977600000L));
+			}
+			ZoneOffsetTransition transition = zone.toZoneId().getRules().nextTransition(Instant.parse("1990-01-01T00:00:00Z"));
+			for (int i = 0; i < 40 && null != transition; i++) {
+				final long at = transition.toEpochSecond() * 1000;
+				for (long shift : new long[]{-86400000L, -3600000L, -1, 0, 1800000L, 3600000L, 86400000L}) {
+					times.add(at + shift);
+				}
+				transition = zone.toZoneId().getRules().nextTransition(transition.getInstant());
+			}
+
+			for (long millis : times) {
+				for (DateField field : DateField.values()) {
+					if (DateField.ERA == field) {
+						continue;
+					}
+					for (int offset : new int[]{1, -1, 7, -30, random.nextInt(2000) - 1000}) {
+						final Calendar calendar = CalendarUtil.calendar(millis, zone);
+						calendar.add(field.getValue(), offset);
+						Assert.assertEquals(id + " " + millis + " " + field + " " + offset,
+								calendar.getTimeInMillis(), CalendarUtil.offset(millis, zone, field, offset));
+					}
+				}
+			}
+		}
+	}
 }
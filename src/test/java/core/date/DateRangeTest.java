@@ -0,0 +1,199 @@
+package core.date;
+
+import datetool.DateUtil;
+import datetool.core.DateRange;
+import datetool.core.DateTime;
+import datetool.core.enums.DateField;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.stream.Collectors;
+
+/**
+ * DateRange单元测试
+ */
+public class DateRangeTest {
+
+	@Test
+	public void sameAsCalendarTest() {
+		final TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+		// 跨越夏令时切换
+		final DateTime start = new DateTime(DateUtil.parse("2023-01-31 01:30:00").getTime(), newYork);
+		final DateTime end = new DateTime(DateUtil.parse("2024-12-01 00:00:00").getTime(), newYork);
+		for (DateField unit : new DateField[]{DateField.HOUR_OF_DAY, DateField.AM_PM, DateField.DAY_OF_MONTH,
+				DateField.WEEK_OF_YEAR, DateField.MONTH, DateField.YEAR}) {
+			for (int step : new int[]{1, 3}) {
+				Assert.assertEquals(unit + "/" + step, byCalendar(start, end, unit, step), millis(new DateRange(start, end, unit, step)));
+			}
+		}
+
+		// 偏移不变时按毫秒数步进
+		final DateTime shanghaiStart = DateUtil.parse("2023-01-31 01:30:00");
+		final DateTime shanghaiEnd = DateUtil.parse("2023-12-01 00:00:00");
+		Assert.assertEquals(byCalendar(shanghaiStart, shanghaiEnd, DateField.DAY_OF_MONTH, 1),
+				millis(new DateRange(shanghaiStart, shanghaiEnd, DateField.DAY_OF_MONTH)));
+		// 上海1986-1991年有夏令时
+		final DateTime dstStart = DateUtil.parse("1986-01-01 00:00:00");
+		final DateTime dstEnd = DateUtil.parse("1988-01-01 00:00:00");
+		Assert.assertEquals(byCalendar(dstStart, dstEnd, DateField.DAY_OF_MONTH, 1),
+				millis(new DateRange(dstStart, dstEnd, DateField.DAY_OF_MONTH)));
+	}
+
+	@Test
+	public void largeStepTest() {
+		// 步进的毫秒数按long计算，分钟数超过35791394时不溢出
+		final DateTime start = DateUtil.parse("2000-01-01 00:00:00");
+		final DateTime end = DateUtil.parse("2200-01-01 00:00:00");
+		final List<Long> expected = byCalendar(start, end, DateField.MINUTE, 40_000_000);
+		Assert.assertEquals(3, expected.size());
+		Assert.assertEquals(expected, millis(new DateRange(start, end, DateField.MINUTE, 40_000_000)));
+	}
+
+	@Test
+	public void includeTest() {
+		final DateTime start = DateUtil.parse("2023-03-01 00:00:00");
+		final DateTime end = DateUtil.parse("2023-03-01 00:10:00");
+
+		Assert.assertEquals(11, new DateRange(start, end, DateField.MINUTE).size());
+		Assert.assertEquals(6, DateUtil.rangeToList(start, end, DateField.MINUTE, 2).size());
+		Assert.assertEquals(4, DateUtil.rangeToList(start, end, DateField.MINUTE, 3).size());
+
+		List<DateTime> list = toList(new DateRange(start, end, DateField.MINUTE, 1, false, false));
+		Assert.assertEquals(9, list.size());
+		Assert.assertEquals("2023-03-01 00:01:00", list.get(0).toString());
+		Assert.assertEquals("2023-03-01 00:09:00", list.get(8).toString());
+
+		// 开始时间始终包含
+		Assert.assertEquals(1, new DateRange(end, start, DateField.MINUTE).size());
+		Assert.assertEquals(0, new DateRange(end, start, DateField.MINUTE, 1, false, true).size());
+		Assert.assertEquals(1, new DateRange(start, start, DateField.MINUTE, 1, true, false).size());
+		Assert.assertEquals(1, new DateRange(start, null, DateField.MINUTE).size());
+	}
+
+	@Test
+	public void iteratorTest() {
+		final DateRange range = DateUtil.range(DateUtil.parse("2023-01-31"), DateUtil.parse("2023-06-30"), DateField.MONTH);
+		final Iterator<DateTime> first = range.iterator();
+		final Iterator<DateTime> second = range.iterator();
+		Assert.assertEquals("2023-01-31 00:00:00", first.next().toString());
+		Assert.assertEquals("2023-02-28 00:00:00", first.next().toString());
+		Assert.assertEquals("2023-01-31 00:00:00", second.next().toString());
+		Assert.assertEquals(6, toList(range).size());
+		Assert.assertEquals(6, toList(range).size());
+
+		// 范围本身作为迭代器
+		int count = 0;
+		while (range.hasNext()) {
+			range.next();
+			count++;
+		}
+		Assert.assertEquals(6, count);
+		Assert.assertFalse(range.hasNext());
+	}
+
+	@Test
+	public void serializeTest() throws IOException, ClassNotFoundException {
+		final DateRange range = new DateRange(DateUtil.parse("2023-03-01"), DateUtil.parse("2023-03-05"), DateField.DAY_OF_YEAR);
+		// 序列化前先计算一次，缓存的索引不随对象序列化
+		Assert.assertEquals(5, range.size());
+
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(range);
+		}
+		final DateRange copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			copy = (DateRange) in.readObject();
+		}
+		Assert.assertEquals(5, copy.size());
+		Assert.assertEquals(toList(range), toList(copy));
+		Assert.assertEquals(5, copy.toMillis().length);
+	}
+
+	@Test
+	public void parallelStreamTest() {
+		final DateTime start = DateUtil.parse("2023-01-01 00:00:00");
+		final DateTime end = DateUtil.parse("2023-12-31 23:59:59");
+		for (DateField unit : new DateField[]{DateField.MINUTE, DateField.DAY_OF_YEAR, DateField.MONTH}) {
+			final DateRange range = new DateRange(start, end, unit);
+			final List<DateTime> sequential = toList(range);
+			Assert.assertEquals(sequential.size(), range.size());
+			Assert.assertEquals(sequential, range.stream().parallel().collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void rangeContainsTest() {
+		final DateRange minutes = new DateRange(DateUtil.parse("2023-03-01 00:00:00"), DateUtil.parse("2023-03-02 00:00:00"), DateField.MINUTE, 7);
+		final DateRange hours = new DateRange(DateUtil.parse("2023-02-28 12:00:00"), DateUtil.parse("2023-03-01 20:00:00"), DateField.HOUR_OF_DAY);
+		final List<DateTime> minuteList = toList(minutes);
+		final List<DateTime> hourList = toList(hours);
+
+		final List<DateTime> contains = DateUtil.rangeContains(minutes, hours);
+		Assert.assertEquals(minuteList.stream().filter(hourList::contains).collect(Collectors.toList()), contains);
+		Assert.assertEquals(3, contains.size());
+		Assert.assertEquals(contains, DateUtil.rangeContainsStream(minutes, hours).collect(Collectors.toList()));
+
+		final List<DateTime> notContains = DateUtil.rangeNotContains(minutes, hours);
+		Assert.assertEquals(hourList.stream().filter(item -> !minuteList.contains(item)).collect(Collectors.toList()), notContains);
+		Assert.assertEquals(hourList.size() - 3, notContains.size());
+		Assert.assertEquals(notContains, DateUtil.rangeNotContainsStream(minutes, hours).collect(Collectors.toList()));
+
+		Assert.assertTrue(DateUtil.rangeContains(null, hours).isEmpty());
+		Assert.assertTrue(DateUtil.rangeContains(minutes, null).isEmpty());
+		Assert.assertEquals(hourList, DateUtil.rangeNotContains(null, hours));
+		Assert.assertTrue(DateUtil.rangeNotContains(minutes, null).isEmpty());
+	}
+
+	@Test
+	public void rangeToMillisTest() {
+		final DateTime start = DateUtil.parse("2023-01-31 00:00:00");
+		final DateTime end = DateUtil.parse("2024-12-31 00:00:00");
+		for (DateField unit : new DateField[]{DateField.MINUTE, DateField.DAY_OF_MONTH, DateField.MONTH}) {
+			// 按月步进3即为按季度
+			final long[] millis = DateUtil.rangeToMillis(start, end, unit, 3);
+			final long[] expected = DateUtil.rangeToList(start, end, unit, 3).stream().mapToLong(DateTime::getTime).toArray();
+			Assert.assertArrayEquals(expected, millis);
+			Assert.assertArrayEquals(expected, DateUtil.rangeToMillisStream(start, end, unit, 3).toArray());
+			Assert.assertArrayEquals(expected, DateUtil.rangeToMillisStream(start, end, unit, 3).parallel().toArray());
+		}
+		Assert.assertEquals(8, DateUtil.rangeToMillis(start, end, DateField.MONTH, 3).length);
+		Assert.assertEquals(DateUtil.parse("2023-04-30 00:00:00").getTime(), DateUtil.rangeToMillis(start, end, DateField.MONTH, 3)[1]);
+	}
+
+	private static List<DateTime> toList(DateRange range) {
+		final List<DateTime> list = new ArrayList<>();
+		for (DateTime dateTime : range) {
+			list.add(dateTime);
+		}
+		return list;
+	}
+
+	private static List<Long> millis(DateRange range) {
+		return range.stream().map(DateTime::getTime).collect(Collectors.toList());
+	}
+
+	private static List<Long> byCalendar(DateTime start, DateTime end, DateField unit, int step) {
+		final Calendar calendar = Calendar.getInstance(start.getTimeZone(), Locale.getDefault(Locale.Category.FORMAT));
+		final List<Long> list = new ArrayList<>();
+		for (int k = 0; ; k++) {
+			calendar.setTimeInMillis(start.getTime());
+			calendar.add(unit.getValue(), k * step);
+			if (calendar.getTimeInMillis() > end.getTime()) {
+				return list;
+			}
+			list.add(calendar.getTimeInMillis());
+		}
+	}
+}
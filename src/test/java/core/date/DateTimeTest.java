@@ -2,11 +2,17 @@ package core.date;
 
 import datetool.DateUtil;
 import datetool.core.*;
+import datetool.core.enums.DateField;
 import datetool.core.enums.Month;
 import datetool.core.enums.Quarter;
+import datetool.core.enums.Week;
+import datetool.core.format.FastDateFormat;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Calendar;
+import java.util.TimeZone;
+
 /**
  * DateTime单元测试
  *
@@ -122,6 +128,62 @@ public class DateTimeTest {
 		Assert.assertEquals(1, date.weekOfYear());
 	}
 
+	@Test
+	public void immutableOffsetTest() {
+		// 2023-01-31 12:34:56 UTC
+		final DateTime dateTime = new DateTime(1675168496000L, TimeZone.getTimeZone("UTC"))
+				.setFirstDayOfWeek(Week.SUNDAY)
+				.setMinimalDaysInFirstWeek(4)
+				.setMutable(false);
+
+		final DateTime offset = dateTime.offset(DateField.MONTH, 1);
+		Assert.assertNotSame(dateTime, offset);
+		Assert.assertEquals("2023-02-28 12:34:56", offset.toString());
+		Assert.assertEquals("2023-01-31 12:34:56", dateTime.toString());
+		Assert.assertFalse(offset.isMutable());
+		Assert.assertEquals("UTC", offset.getTimeZone().getID());
+		Assert.assertEquals(Week.SUNDAY, offset.getFirstDayOfWeek());
+		Assert.assertEquals(dateTime.weekOfYear(), offset.copyWith(dateTime.getTime()).weekOfYear());
+
+		Assert.assertEquals("2023-01-31 13:34:56", dateTime.offsetNew(DateField.HOUR_OF_DAY, 1).toString());
+		Assert.assertEquals("2023-01-15 12:34:56", dateTime.setField(DateField.DAY_OF_MONTH, 15).toString());
+		Assert.assertEquals("2023-01-31 12:34:56", dateTime.toString());
+
+		final DateTime mutable = new DateTime(dateTime.getTime(), dateTime.getTimeZone());
+		Assert.assertSame(mutable, mutable.offset(DateField.DAY_OF_MONTH, 1));
+		Assert.assertEquals(dateTime.getTime() + 86400000L, mutable.getTime());
+	}
+
+	@Test
+	public void fieldCacheTest() {
+		// 2023-01-01为周日，按上海时区解析和计算，与JVM默认时区无关
+		final TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+		final DateTime dateTime = DateUtil.parse("2023-01-01 23:30:00", FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN, shanghai))
+				.setTimeZone(shanghai).setMinimalDaysInFirstWeek(4);
+		Assert.assertEquals(2023, dateTime.year());
+		Assert.assertEquals(23, dateTime.hour(true));
+		Assert.assertEquals(52, dateTime.weekOfYear());
+
+		// 改变周的设置、时间及时区后重新计算
+		dateTime.setFirstDayOfWeek(Week.SUNDAY);
+		Assert.assertEquals(1, dateTime.weekOfYear());
+		dateTime.setTime(dateTime.getTime() + 3600000L);
+		Assert.assertEquals(2, dateTime.dayOfMonth());
+		Assert.assertEquals(0, dateTime.hour(true));
+		dateTime.setTimeZone(TimeZone.getTimeZone("UTC"));
+		Assert.assertEquals(1, dateTime.dayOfMonth());
+		Assert.assertEquals(16, dateTime.hour(true));
+		dateTime.setFirstDayOfWeek(Week.MONDAY);
+		Assert.assertEquals(52, dateTime.weekOfYear());
+		dateTime.setMinimalDaysInFirstWeek(1);
+		Assert.assertEquals(1, dateTime.weekOfYear());
+
+		final Calendar calendar = dateTime.toCalendar();
+		for (DateField field : DateField.values()) {
+			Assert.assertEquals(field.name(), calendar.get(field.getValue()), dateTime.getField(field));
+		}
+	}
+
 	/**
 	 * 严格模式下，不允许非常规的数字，如秒部分最多59，99则报错
 	 */
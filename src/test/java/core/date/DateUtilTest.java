@@ -4,17 +4,21 @@ import datetool.DateUtil;
 import datetool.core.BetweenFormatter.Level;
 import datetool.core.*;
 import datetool.core.enums.DateField;
+import datetool.core.enums.DateStyle;
 import datetool.core.enums.DateUnit;
 import datetool.core.enums.Week;
 import datetool.core.format.FastDateFormat;
+import datetool.core.format.GlobalCustomFormat;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
@@ -91,6 +95,16 @@ public class DateUtilTest {
 		Assert.assertEquals(date, parse);
 	}
 
+	@Test
+	public void formatterOnlyCustomFormatTest() {
+		// 只注册格式化规则时，解析按普通日期格式进行
+		final String pattern = "yyyyMMdd'#formatterOnly'";
+		GlobalCustomFormat.putFormatter(pattern, date -> "custom");
+		Assert.assertEquals("custom", DateUtil.format(DateUtil.parse("2017-03-01"), pattern));
+		Assert.assertEquals(DateUtil.parse("2017-03-01"), DateUtil.parse("20170301#formatterOnly", pattern));
+		Assert.assertEquals(DateUtil.parse("2017-03-01"), DateUtil.tryParse("20170301#formatterOnly", pattern).orElse(null));
+	}
+
 	@Test
 	public void beginAndEndTest() {
 		final String dateStr = "2017-03-01 00:33:23";
@@ -487,6 +501,24 @@ public class DateUtilTest {
 		Assert.assertNull(dateTime);
 	}
 
+	@Test
+	public void tryParseTest() {
+		Assert.assertEquals(DateUtil.parse("2023-03-15", "yyyy-MM-dd"), DateUtil.tryParse("2023-03-15", "yyyy-MM-dd").orElse(null));
+		Assert.assertFalse(DateUtil.tryParse("2023-02-30", "yyyy-MM-dd").isPresent());
+		Assert.assertFalse(DateUtil.tryParse("abc", "yyyy-MM-dd").isPresent());
+		Assert.assertFalse(DateUtil.tryParse((CharSequence) null, "yyyy-MM-dd").isPresent());
+		Assert.assertEquals(1678854896000L, DateUtil.tryParse("1678854896", "#sss").get().getTime());
+		Assert.assertFalse(DateUtil.tryParse("abc", "#sss").isPresent());
+
+		final DateTime dateTime = DateUtil.tryParse("2023-03-15 12:00:00", FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN,
+				TimeZone.getTimeZone("UTC"))).get();
+		Assert.assertEquals(1678881600000L, dateTime.getTime());
+		Assert.assertEquals("UTC", dateTime.getTimeZone().getID());
+
+		Assert.assertEquals(DateUtil.parse("2023-03-15"), DateUtil.tryParse("2023-03-15", "yyyy/MM/dd", "yyyy-MM-dd").orElse(null));
+		Assert.assertFalse(DateUtil.tryParse("2023.03.15", "yyyy/MM/dd", "yyyy-MM-dd").isPresent());
+	}
+
 	@Test
 	public void parseUTCOffsetTest() {
 		// issue#I437AP@Gitee
@@ -781,6 +813,9 @@ public class DateUtilTest {
 	public void formatHttpDateTest() {
 		final String formatHttpDate = DateUtil.formatHttpDate(DateUtil.parse("2019-01-02 22:32:01"));
 		Assert.assertEquals("Wed, 02 Jan 2019 14:32:01 GMT", formatHttpDate);
+		Assert.assertEquals(formatHttpDate, DateUtil.formatHttpDate(DateUtil.parse("2019-01-02 22:32:01").getTime()));
+		Assert.assertEquals(DateUtil.parse("2019-01-02 22:32:01"), DateUtil.parseHttpDate(formatHttpDate));
+		Assert.assertThrows(DateException.class, () -> DateUtil.parseHttpDate("2019-01-02 22:32:01"));
 	}
 
 	@Test
@@ -893,6 +928,147 @@ public class DateUtilTest {
 		Assert.assertEquals("2020-06-03 12:32:12", parse.toString());
 	}
 
+	@SuppressWarnings("ConstantConditions")
+	@Test
+	public void parseNormalizeTest() {
+		DateTime dateTime = DateUtil.parse("2020/5/8 3:12:03");
+		Assert.assertEquals("2020-05-08 03:12:03", dateTime.toString());
+		dateTime = DateUtil.parse("2020.05.08");
+		Assert.assertEquals("2020-05-08 00:00:00", dateTime.toString());
+		dateTime = DateUtil.parse("  2020-05-08   03:12  ");
+		Assert.assertEquals("2020-05-08 03:12:00", dateTime.toString());
+		dateTime = DateUtil.parse("2020年5月8日 3时12分3秒");
+		Assert.assertEquals("2020-05-08 03:12:03", dateTime.toString());
+		dateTime = DateUtil.parse("2020-05-08 03:12:03.123456");
+		Assert.assertEquals(123, dateTime.millisecond());
+
+		// 负时区，期望值按上海时区解析，与JVM默认时区无关
+		dateTime = DateUtil.parse("2022-09-14T23:59:00-0800");
+		final FastDateFormat shanghai = FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN, TimeZone.getTimeZone("Asia/Shanghai"));
+		Assert.assertEquals(DateUtil.parse("2022-09-15 15:59:00", shanghai).getTime(), dateTime.getTime());
+	}
+
+	@Test
+	public void formatSameAsSimpleDateFormatTest() {
+		final String[] patterns = {
+				DatePattern.NORM_DATETIME_MS_PATTERN,
+				"yy/M/d H:m:s",
+				"EEE, dd MMM yyyy hh:mm a z",
+				"yyyy-MM-dd'T'HH:mm:ssXXX",
+				"yyyy-MM-dd'T'HH:mm:ssZ",
+				"yyyy-MM-dd'T'HH:mm:ssZZ",
+				"yyyy-MM-dd'T'HH:mm:ssZZZ",
+				"yyyy-MM-dd'T'HH:mm:ssZZZZ",
+				"YY-ww",
+				"YYYY-ww W F u",
+				"y-M-d yyy",
+				"MMM",
+				"dd MMMM yyyy",
+				"'It''s' k K D SSSS",
+				"LLLL yyyy"
+		};
+		// 地区的独立月份名称、周的第一天及数字字符各不相同
+		final Locale[] locales = {Locale.CHINA, Locale.US, Locale.GERMANY, new Locale("ar", "SA")};
+		final Locale defaultLocale = Locale.getDefault();
+		final Random random = new Random(20170301L);
+		try {
+			for (Locale locale : locales) {
+				Locale.setDefault(locale);
+				for (String zoneId : new String[]{"Asia/Shanghai", "America/New_York"}) {
+					final DateTime dateTime = DateUtil.date().setTimeZone(TimeZone.getTimeZone(zoneId));
+					for (String pattern : patterns) {
+						for (int i = 0; i < 100; i++) {
+							// 包括1000年之前的年份
+							dateTime.setTime(random.nextLong() % (i % 10 == 0 ? 60000000000000L : 4102444800000L));
+							Assert.assertEquals(locale + " " + pattern, DateUtil.newSimpleFormat(pattern, null, dateTime.getTimeZone()).format(dateTime),
+									DateUtil.format(dateTime, pattern));
+						}
+					}
+					Assert.assertEquals(DateUtil.newSimpleFormat(DatePattern.NORM_DATETIME_PATTERN, null, dateTime.getTimeZone()).format(dateTime),
+							dateTime.toString());
+					Assert.assertEquals(DateUtil.newSimpleFormat(DatePattern.NORM_DATE_PATTERN, null, dateTime.getTimeZone()).format(dateTime),
+							dateTime.toDateStr());
+				}
+			}
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+
+	@Test
+	public void dateStyleTest() {
+		final Random random = new Random(20210714L);
+		for (DateStyle style : DateStyle.values()) {
+			final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(style.getValue());
+			for (int i = 0; i < 50; i++) {
+				final Date date = new Date(random.nextLong() % 4102444800000L);
+				final String formatted = DateUtil.format(date, style);
+				Assert.assertEquals(formatter.format(date.toInstant().atZone(ZoneId.systemDefault())), formatted);
+				Assert.assertEquals(formatted, parseOrNull(formatted, style.getValue()), parseOrNull(formatted, style));
+			}
+		}
+		Assert.assertSame(DateStyle.YYYY_MM_DD.getFastDateFormat(), DateStyle.YYYY_MM_DD.getFastDateFormat());
+	}
+
+	@Test
+	public void parseDateStyleSameAsSimpleDateFormatTest() {
+		final Date[] dates = {DateUtil.parse("2023-01-02 03:04:05"), DateUtil.parse("2024-02-29 23:59:59"), DateUtil.parse("1999-12-31 00:00:00")};
+		for (DateStyle style : DateStyle.values()) {
+			final String pattern = style.getValue();
+			final List<String> inputs = new ArrayList<>();
+			for (Date date : dates) {
+				final String formatted = DateUtil.format(date, style);
+				inputs.add(formatted);
+				// 单个数字的月、日、时
+				inputs.add(DateUtil.newSimpleFormat(pattern.replace("MM", "M").replace("dd", "d").replace("HH", "H")).format(date));
+				// 前后多余的字符
+				inputs.add(" " + formatted);
+				inputs.add(formatted + " ");
+				inputs.add(formatted + "x");
+				inputs.add(formatted.substring(0, formatted.length() - 1));
+				// 逐位替换为越界的数字或非数字
+				for (int i = 0; i < formatted.length(); i++) {
+					if (Character.isDigit(formatted.charAt(i))) {
+						for (char c : new char[]{'9', '-', '+', 'a'}) {
+							inputs.add(formatted.substring(0, i) + c + formatted.substring(i + 1));
+						}
+					}
+				}
+			}
+			inputs.add("2023-13-01 00:00:00");
+			inputs.add("2023-02-30 00:00:00");
+			inputs.add("00-00");
+			for (String input : inputs) {
+				Assert.assertEquals(pattern + ": " + input, parseOrNull(input, DateUtil.newSimpleFormat(pattern)), parseOrNull(input, style));
+			}
+		}
+	}
+
+	private static Date parseOrNull(String dateStr, Object format) {
+		try {
+			if (format instanceof DateStyle) {
+				return DateUtil.parse(dateStr, (DateStyle) format);
+			}
+			return format instanceof DateFormat ? DateUtil.parse(dateStr, (DateFormat) format) : DateUtil.parse(dateStr, (String) format);
+		} catch (DateException e) {
+			// 缺少年份时1970-02-29不存在
+			return null;
+		}
+	}
+
+	@Test(expected = DateException.class)
+	public void parseDateStyleNotLenientTest() {
+		DateUtil.parse("2023-02-30", DateStyle.YYYY_MM_DD);
+	}
+
+	@Test
+	public void exceptionInitCauseTest() {
+		final IllegalArgumentException cause = new IllegalArgumentException("cause");
+		final DateException e = new DateException("message");
+		Assert.assertSame(e, e.initCause(cause));
+		Assert.assertSame(cause, e.getCause());
+	}
+
 	@Test(expected = DateException.class)
 	public void parseNotFitTest() {
 		//https://github.com/dromara/hutool/issues/1332
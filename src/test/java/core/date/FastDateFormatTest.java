@@ -0,0 +1,376 @@
+package core.date;
+
+import datetool.DateUtil;
+import datetool.core.DatePattern;
+import datetool.core.DateTime;
+import datetool.core.format.FastDateFormat;
+import datetool.core.format.FastDateParser;
+import datetool.core.format.FastDatePrinter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * FastDateFormat单元测试
+ */
+public class FastDateFormatTest {
+
+	private static final String[] PATTERNS = {
+			DatePattern.NORM_DATETIME_PATTERN,
+			DatePattern.NORM_DATETIME_MS_PATTERN,
+			DatePattern.PURE_DATETIME_PATTERN,
+			DatePattern.UTC_PATTERN,
+			DatePattern.UTC_MS_PATTERN,
+			DatePattern.NORM_DATE_PATTERN
+	};
+
+	@Test
+	public void parseFixedTest() throws ParseException {
+		Assert.assertEquals(DatePattern.NORM_DATETIME_FORMAT.parse("2023-03-15 12:34:56").getTime(),
+				DatePattern.NORM_DATETIME_FORMAT.parseFixed("2023-03-15 12:34:56"));
+		Assert.assertEquals(1678883696789L, DatePattern.UTC_MS_FORMAT.parseFixed("2023-03-15T12:34:56.789Z"));
+
+		// 不符合定长布局时交由常规解析
+		Assert.assertEquals(Long.MIN_VALUE, DatePattern.NORM_DATETIME_FORMAT.parseFixed("2023-3-15 12:34:56"));
+		Assert.assertEquals(Long.MIN_VALUE, DatePattern.NORM_DATETIME_FORMAT.parseFixed("2023-03-15 12:34:567"));
+		Assert.assertEquals(Long.MIN_VALUE, DatePattern.NORM_DATETIME_FORMAT.parseFixed("2023-02-29 12:34:56"));
+		Assert.assertEquals(Long.MIN_VALUE, DatePattern.NORM_TIME_FORMAT.parseFixed("12:34:56"));
+	}
+
+	@Test
+	public void parsePositionTest() {
+		final ParsePosition pos = new ParsePosition(3);
+		final Date date = DatePattern.PURE_DATETIME_FORMAT.parse("id:20230315123456,", pos);
+		Assert.assertNotNull(date);
+		Assert.assertEquals(17, pos.getIndex());
+		Assert.assertEquals("2023-03-15 12:34:56", DatePattern.NORM_DATETIME_FORMAT.format(date));
+	}
+
+	@Test
+	public void parseSameAsFastDateParserTest() {
+		final Random random = new Random(20230315L);
+		final String[] zones = {"Asia/Shanghai", "America/New_York", "Europe/London", "UTC"};
+		for (String zoneId : zones) {
+			final TimeZone zone = TimeZone.getTimeZone(zoneId);
+			for (String pattern : PATTERNS) {
+				final FastDateFormat format = FastDateFormat.getInstance(pattern, zone, Locale.US);
+				final FastDateParser parser = new FastDateParser(pattern, zone, Locale.US);
+				for (int i = 0; i < 2000; i++) {
+					// 包含越界值和夏令时切换附近的时间
+					final String source = format.format(random.nextLong() % 4102444800000L)
+							.replace("-0", i % 7 == 0 ? "-1" : "-0");
+					final ParsePosition expectedPos = new ParsePosition(0);
+					final Date expected = parser.parse(source, expectedPos);
+					final ParsePosition actualPos = new ParsePosition(0);
+					final Date actual = format.parse(source, actualPos);
+					Assert.assertEquals(source, expected, actual);
+					Assert.assertEquals(source, expectedPos.getIndex(), actualPos.getIndex());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void parseDstTest() {
+		final TimeZone zone = TimeZone.getTimeZone("America/New_York");
+		final FastDateFormat format = FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN, zone);
+		final FastDateParser parser = new FastDateParser(DatePattern.NORM_DATETIME_PATTERN, zone, Locale.getDefault());
+		// 不存在的时间和重复的时间
+		for (String source : new String[]{"2023-03-12 02:30:00", "2023-11-05 01:30:00", "2023-03-11 02:30:00"}) {
+			Assert.assertEquals(parser.parse(source, new ParsePosition(0)), format.parse(source, new ParsePosition(0)));
+		}
+	}
+
+	@Test
+	public void parseAllTest() {
+		final FastDateFormat format = FastDateFormat.getInstance(DatePattern.NORM_DATETIME_PATTERN);
+		// 定长快速解析、需要进位的值、非定长、无法解析和null
+		final List<String> sources = Arrays.asList("2023-03-15 12:34:56", "2023-02-29 12:00:00", "2023-3-15 1:2:3", "2023/03/15", null, "2023-03-15 12:34:56 tail");
+		final long[] result = new long[sources.size()];
+		final BitSet failed = new BitSet();
+		failed.set(0);
+		Assert.assertEquals(2, format.parseAll(sources, result, failed));
+		Assert.assertEquals("{3, 4}", failed.toString());
+		for (int i = 0; i < sources.size(); i++) {
+			if (failed.get(i)) {
+				Assert.assertEquals(Long.MIN_VALUE, result[i]);
+			} else {
+				Assert.assertEquals(DateUtil.parse(sources.get(i), format).getTime(), result[i]);
+			}
+		}
+
+		// 时区名称会修改Calendar的时区，不能影响后续的解析
+		final FastDateParser parser = new FastDateParser("yyyy-MM-dd HH:mm z", TimeZone.getTimeZone("Asia/Shanghai"), Locale.US);
+		final String[] zoned = {"2023-03-15 12:34 PST", "2023-03-15 12:34 GMT+09:00", "2023-03-15 12:34 CST", "2023-03-15 12:34"};
+		final long[] zonedResult = new long[zoned.length];
+		Assert.assertEquals(1, parser.parseAll(zoned, zonedResult, failed));
+		for (int i = 0; i < zoned.length - 1; i++) {
+			Assert.assertEquals(parser.parse(zoned[i], new ParsePosition(0)).getTime(), zonedResult[i]);
+		}
+		Assert.assertTrue(failed.get(3));
+	}
+
+	@Test
+	public void parseBytesTest() throws ParseException {
+		final byte[] line = "ts=2023-03-15 12:34:56 level=INFO".getBytes(StandardCharsets.US_ASCII);
+		final long expected = DatePattern.NORM_DATETIME_FORMAT.parse("2023-03-15 12:34:56").getTime();
+		Assert.assertEquals(expected, DatePattern.NORM_DATETIME_FORMAT.parse(line, 3, 19));
+
+		final ByteBuffer direct = ByteBuffer.allocateDirect(line.length);
+		direct.put(line, 0, line.length);
+		Assert.assertEquals(expected, DatePattern.NORM_DATETIME_FORMAT.parse(direct, 3, 19));
+		Assert.assertEquals(line.length, direct.position());
+		final ByteBuffer heap = ByteBuffer.wrap(line, 3, 19).slice();
+		Assert.assertEquals(expected, DatePattern.NORM_DATETIME_FORMAT.parse(heap, 0, 19));
+
+		// 非定长格式及非ASCII字符按UTF-8解码后解析
+		final byte[] chinese = "2023年3月15日".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals(DatePattern.CHINESE_DATE_FORMAT.parse("2023年3月15日").getTime(),
+				DatePattern.CHINESE_DATE_FORMAT.parse(chinese, 0, chinese.length));
+		Assert.assertEquals(expected, new FastDateParser(DatePattern.NORM_DATETIME_PATTERN, TimeZone.getDefault(), Locale.getDefault())
+				.parse(direct, 3, 19));
+
+		Assert.assertThrows(ParseException.class, () -> DatePattern.NORM_DATETIME_FORMAT.parse(line, 0, 19));
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> DatePattern.NORM_DATETIME_FORMAT.parse(line, 20, 19));
+	}
+
+	@Test
+	public void parseNotLenientTest() {
+		final DateTime dateTime = new DateTime("2023-02-28 23:59:59", DatePattern.NORM_DATETIME_FORMAT, false);
+		Assert.assertEquals("2023-02-28 23:59:59", dateTime.toString());
+
+		for (String source : new String[]{"2023-02-29 12:00:00", "2023-13-01 12:00:00", "2023-01-01 24:00:00", "2023-01-01 12:60:00"}) {
+			try {
+				new DateTime(source, DatePattern.NORM_DATETIME_FORMAT, false);
+				Assert.fail(source);
+			} catch (IllegalArgumentException e) {
+				// 非宽容模式下越界报错
+			}
+			// 宽容模式下进位
+			Assert.assertEquals(new DateTime(source, new FastDateParser(DatePattern.NORM_DATETIME_PATTERN, TimeZone.getDefault(), Locale.getDefault())),
+					new DateTime(source, DatePattern.NORM_DATETIME_FORMAT));
+		}
+	}
+
+	@Test
+	public void tryParseTest() {
+		final FastDateFormat format = DatePattern.NORM_DATETIME_FORMAT;
+		Assert.assertEquals(DateUtil.parse("2023-03-15 12:34:56", format).getTime(), format.tryParse("2023-03-15 12:34:56"));
+		Assert.assertEquals(DateUtil.parse("2023-3-15 1:2:3", format).getTime(), format.tryParse("2023-3-15 1:2:3"));
+		Assert.assertEquals(Long.MIN_VALUE, format.tryParse("2023/03/15"));
+		Assert.assertEquals(Long.MIN_VALUE, format.tryParse(null));
+		// 超出int范围的数字不抛出NumberFormatException
+		Assert.assertEquals(Long.MIN_VALUE, format.tryParse("99999999999-01-01 00:00:00"));
+
+		// 宽容模式下进位，非宽容模式下视为失败
+		Assert.assertEquals(DateUtil.parse("2023-03-02 12:00:00", format).getTime(), format.tryParse("2023-02-30 12:00:00"));
+		Assert.assertEquals(Long.MIN_VALUE, format.tryParse("2023-02-30 12:00:00", false));
+		Assert.assertEquals(Long.MIN_VALUE, format.tryParse("2023-2-30 12:00:00", false));
+
+		final FastDateParser parser = new FastDateParser(DatePattern.NORM_DATE_PATTERN, TimeZone.getDefault(), Locale.getDefault());
+		Assert.assertEquals(DateUtil.parse("2023-03-15").getTime(), parser.tryParse("2023-03-15"));
+		Assert.assertEquals(Long.MIN_VALUE, parser.tryParse("2023-13-15", false));
+		Assert.assertEquals(Long.MIN_VALUE, parser.tryParse("abc"));
+	}
+
+	@Test
+	public void parseTextTest() throws ParseException {
+		final TimeZone utc = TimeZone.getTimeZone("UTC");
+		final long expected = DateUtil.parse("2023-09-05 00:00:00").getTime();
+		// 忽略大小写，取最长的名称
+		for (String source : new String[]{"Sep 05, 2023", "SEPTEMBER 05, 2023", "september 05, 2023"}) {
+			Assert.assertEquals(source, expected, FastDateFormat.getInstance("MMM dd, yyyy", Locale.US).parse(source).getTime());
+		}
+		final ParsePosition pos = new ParsePosition(0);
+		Assert.assertNull(FastDateFormat.getInstance("MMM dd, yyyy", Locale.US).parse("Sept 05, 2023", pos));
+		Assert.assertEquals(3, pos.getErrorIndex());
+
+		// 时区名称只影响夏令时，标准偏移使用解析器的时区，见issue#I1AXIN@Gitee
+		Assert.assertEquals(DateUtil.parse("2023-03-15 12:34:56").getTime(), DateUtil.parseCST("Wed Mar 15 12:34:56 CST 2023").getTime());
+		final FastDateParser zoneParser = new FastDateParser("yyyy-MM-dd HH:mm z", utc, Locale.US);
+		Assert.assertEquals(1678854600000L, zoneParser.parse("2023-03-15 12:30 GMT+8:00").getTime());
+		Assert.assertEquals(1678854600000L, zoneParser.parse("2023-03-15 12:30 gmt+08:00").getTime());
+		Assert.assertEquals(1678854600000L, zoneParser.parse("2023-03-15 12:30 +0800").getTime());
+		Assert.assertEquals(1678854600000L, zoneParser.parse("2023-03-15 12:30 +08:00").getTime());
+
+		final FastDateParser isoParser = new FastDateParser("yyyy-MM-dd HH:mmX", utc, Locale.US);
+		Assert.assertEquals(1678854600000L, isoParser.parse("2023-03-15 12:30+08").getTime());
+		Assert.assertEquals(1678883400000L, isoParser.parse("2023-03-15 12:30Z").getTime());
+		Assert.assertThrows(ParseException.class, () -> isoParser.parse("2023-03-15 12:30z"));
+	}
+
+	@Test
+	public void formatSameAsCalendarTest() {
+		final Random random = new Random(20230315L);
+		final String[] zones = {"Asia/Shanghai", "America/New_York", "Europe/Dublin", "Europe/London", "UTC", "EST", "GMT+08:00"};
+		final String[] patterns = {
+				DatePattern.NORM_DATETIME_MS_PATTERN,
+				DatePattern.UTC_MS_WITH_XXX_OFFSET_PATTERN,
+				"EEE, dd MMM yyyy HH:mm:ss z",
+				"G yy-M-d D E hh:mm a kk K Z zzzz u"
+		};
+		for (String zoneId : zones) {
+			final TimeZone zone = TimeZone.getTimeZone(zoneId);
+			for (String pattern : patterns) {
+				final FastDatePrinter printer = new FastDatePrinter(pattern, zone, Locale.US);
+				for (int i = 0; i < 2000; i++) {
+					// 1850年至2100年之间，同时取一小时后的时间，覆盖偏移缓存命中的情况
+					final long millis = -3786825600000L + (long) (random.nextDouble() * 7889231999999L);
+					Assert.assertEquals(printer.formatByCalendar(millis), printer.format(millis));
+					Assert.assertEquals(printer.formatByCalendar(millis + 3600000L), printer.format(millis + 3600000L));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void formatWeekYearTest() {
+		final TimeZone zone = TimeZone.getTimeZone("UTC");
+		// 美国一周从周日开始、第一周至少1天，德国一周从周一开始、第一周至少4天
+		for (Locale locale : new Locale[]{Locale.US, Locale.GERMANY}) {
+			final FastDatePrinter printer = new FastDatePrinter("YYYY-ww", zone, locale);
+			for (int year = 1990; year < 2040; year++) {
+				// 每年末尾和开头各10天
+				final long newYear = LocalDate.of(year, 1, 1).toEpochDay() * 86400000L + 43200000L;
+				for (int day = -10; day < 10; day++) {
+					final long millis = newYear + day * 86400000L;
+					Assert.assertEquals(printer.formatByCalendar(millis), printer.format(millis));
+				}
+			}
+		}
+		Assert.assertEquals("2021-52", new FastDatePrinter("YYYY-ww", TimeZone.getTimeZone("UTC"), Locale.GERMANY).format(1641038400000L));
+	}
+
+	@Test
+	public void formatDstTest() {
+		final FastDatePrinter printer = new FastDatePrinter("yyyy-MM-dd HH:mm:ss.SSS z", TimeZone.getTimeZone("America/New_York"), Locale.US);
+		// 2023-03-12 07:00:00Z 开始夏令时，逐毫秒跨过切换时刻
+		final long transition = 1678604400000L;
+		for (long millis = transition - 2; millis <= transition + 2; millis++) {
+			Assert.assertEquals(printer.formatByCalendar(millis), printer.format(millis));
+		}
+		Assert.assertEquals("2023-03-12 01:59:59.999 EST", printer.format(transition - 1));
+		Assert.assertEquals("2023-03-12 03:00:00.000 EDT", printer.format(transition));
+		// 早于1583年交由Calendar处理
+		Assert.assertEquals(printer.formatByCalendar(-15000000000000L), printer.format(-15000000000000L));
+	}
+
+	@Test
+	public void formatAllTest() {
+		final FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.SSS z", TimeZone.getTimeZone("America/New_York"), Locale.US);
+		// 同一天内、跨越夏令时切换、早于1583年（交由Calendar处理）
+		final long[] millis = {1678604399999L, 1678604400000L, 1678604400001L, 1678690800000L, -15000000000000L, 1678604400000L};
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 1; i < millis.length; i++) {
+			if (i > 1) {
+				expected.append(',');
+			}
+			expected.append(format.format(millis[i]));
+		}
+		Assert.assertEquals(expected.toString(), format.formatAll(millis, 1, millis.length, new StringBuilder(), ',').toString());
+		Assert.assertEquals("", format.formatAll(millis, 2, 2, new StringBuilder(), ',').toString());
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> format.formatAll(millis, 1, 7, new StringBuilder(), ','));
+	}
+
+	@Test
+	public void formatIntoTest() {
+		final FastDateFormat format = FastDateFormat.getInstance(DatePattern.NORM_DATETIME_MS_PATTERN);
+		final long millis = 1678854896789L;
+		final char[] dest = new char[2 + format.getMaxLengthEstimate()];
+		dest[0] = '[';
+		final int end = format.formatInto(millis, dest, 1);
+		dest[end] = ']';
+		Assert.assertEquals("[" + format.format(millis) + "]", new String(dest, 0, end + 1));
+
+		// 含文本字段
+		final FastDateFormat text = FastDateFormat.getInstance("EEEE, d MMMM yyyy z", TimeZone.getTimeZone("Europe/London"), Locale.UK);
+		final char[] textDest = new char[text.getMaxLengthEstimate()];
+		Assert.assertEquals(text.format(millis), new String(textDest, 0, text.formatInto(millis, textDest, 0)));
+
+		Assert.assertThrows(IndexOutOfBoundsException.class, () -> format.formatInto(millis, new char[10], 0));
+	}
+
+	@Test
+	public void formatToTest() {
+		final long millis = 1678854896789L;
+		for (FastDateFormat format : new FastDateFormat[]{DatePattern.NORM_DATETIME_MS_FORMAT, DatePattern.CHINESE_DATE_TIME_FORMAT,
+				FastDateFormat.getInstance("EEEE, d MMMM yyyy", Locale.FRANCE)}) {
+			final byte[] expected = format.format(millis).getBytes(StandardCharsets.UTF_8);
+			for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+				buffer.put((byte) '[');
+				Assert.assertEquals(expected.length, format.formatTo(millis, buffer));
+				Assert.assertEquals(1 + expected.length, buffer.position());
+				final byte[] actual = new byte[expected.length];
+				for (int i = 0; i < actual.length; i++) {
+					actual[i] = buffer.get(1 + i);
+				}
+				Assert.assertArrayEquals(expected, actual);
+			}
+		}
+		Assert.assertThrows(BufferOverflowException.class, () -> DatePattern.NORM_DATETIME_FORMAT.formatTo(millis, ByteBuffer.allocate(10)));
+
+		// 配对的代理按四字节写入，未配对的代理（包括结尾的高位代理）与String#getBytes一致写为'?'
+		for (String pattern : new String[]{"yyyy'\uD83D\uDE00'MM", "'\uD83D'yyyy", "yyyy'\uDE00'", "yyyy'\uD83D'", "'\uD83D\uD83D\uDE00'"}) {
+			final FastDateFormat format = FastDateFormat.getInstance(pattern);
+			final byte[] expected = format.format(millis).getBytes(StandardCharsets.UTF_8);
+			final ByteBuffer buffer = ByteBuffer.allocate(64);
+			Assert.assertEquals(pattern, expected.length, format.formatTo(millis, buffer));
+			Assert.assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.position()));
+		}
+	}
+
+	@Test
+	public void secondCachedFormatTest() {
+		final String[] patterns = {
+				DatePattern.NORM_DATETIME_MS_PATTERN,
+				"SSS yyyy-MM-dd'T'HH:mm:ss.SSSSXXX",
+				"yyyy-MM-dd HH:mm:ss.S z",
+				"EEEE, d MMMM yyyy HH:mm:ss"
+		};
+		final Random random = new Random(20230320L);
+		final TimeZone zone = TimeZone.getTimeZone("America/New_York");
+		for (String pattern : patterns) {
+			final FastDateFormat cached = FastDateFormat.getSecondCachedInstance(pattern, zone, Locale.FRANCE);
+			Assert.assertNotSame(FastDateFormat.getInstance(pattern, zone, Locale.FRANCE), cached);
+			Assert.assertSame(cached, FastDateFormat.getSecondCachedInstance(pattern, zone, Locale.FRANCE));
+			final FastDatePrinter printer = new FastDatePrinter(pattern, zone, Locale.FRANCE);
+			// 逐毫秒跨过夏令时切换时刻，之后乱序的时间及早于1970年的时间
+			long millis = 1678604400000L - 1500;
+			for (int i = 0; i < 3000; i++) {
+				millis += random.nextInt(4) == 0 ? -random.nextInt(3000) : random.nextInt(3);
+				if (i % 500 == 0) {
+					millis = -random.nextInt(Integer.MAX_VALUE) * 1000L - random.nextInt(1000);
+				}
+				final String expected = printer.format(millis);
+				Assert.assertEquals(expected, cached.format(millis));
+				Assert.assertEquals(expected, cached.format(millis, new StringBuilder()).toString());
+				final char[] chars = new char[1 + expected.length()];
+				Assert.assertEquals(chars.length, cached.formatInto(millis, chars, 1));
+				Assert.assertEquals(expected, new String(chars, 1, expected.length()));
+				final ByteBuffer bytes = ByteBuffer.allocate(64);
+				cached.formatTo(millis, bytes);
+				Assert.assertEquals(expected, new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8));
+			}
+			final long[] batch = {millis, millis + 1, millis + 1000, millis - 1};
+			Assert.assertEquals(printer.formatAll(batch, 0, 4, new StringBuilder(), '\n').toString(),
+					cached.formatAll(batch, 0, 4, new StringBuilder(), '\n').toString());
+		}
+		Assert.assertThrows(IndexOutOfBoundsException.class,
+				() -> FastDateFormat.getSecondCachedInstance(DatePattern.NORM_DATETIME_MS_PATTERN).formatInto(0, new char[10], 0));
+		Assert.assertThrows(BufferOverflowException.class,
+				() -> FastDateFormat.getSecondCachedInstance(DatePattern.NORM_DATETIME_MS_PATTERN).formatTo(0, ByteBuffer.allocate(10)));
+	}
+}
@@ -0,0 +1,104 @@
+package core.date;
+
+import datetool.core.format.DefaultTimeZone;
+import datetool.core.format.FastDateFormat;
+import datetool.core.format.FormatCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * FormatCache单元测试
+ */
+public class FormatCacheTest {
+
+	@Test
+	public void evictTest() {
+		final FormatCache<String, String> cache = new FormatCache<>(3);
+		Assert.assertNull(cache.putIfAbsent("a", "A"));
+		Assert.assertNull(cache.putIfAbsent("b", "B"));
+		Assert.assertNull(cache.putIfAbsent("c", "C"));
+		Assert.assertEquals("A", cache.putIfAbsent("a", "A2"));
+
+		// 访问过的条目保留，淘汰未访问的b
+		Assert.assertEquals("C", cache.get("c"));
+		Assert.assertNull(cache.putIfAbsent("d", "D"));
+		Assert.assertEquals(3, cache.size());
+		Assert.assertNull(cache.get("b"));
+		Assert.assertEquals("A", cache.get("a"));
+		Assert.assertEquals("D", cache.get("d"));
+
+		final FormatCache.Stats stats = cache.getStats();
+		Assert.assertEquals(3, stats.getHitCount());
+		Assert.assertEquals(1, stats.getMissCount());
+		Assert.assertEquals(1, stats.getEvictionCount());
+		Assert.assertEquals(3, stats.getSize());
+		Assert.assertEquals(3, stats.getCapacity());
+		Assert.assertEquals(0.75, stats.getHitRate(), 0);
+	}
+
+	@Test
+	public void boundedTest() {
+		final FormatCache<Integer, Integer> cache = new FormatCache<>(16);
+		for (int i = 0; i < 1000; i++) {
+			if (null == cache.get(i % 40)) {
+				cache.putIfAbsent(i % 40, i);
+			}
+			Assert.assertTrue(cache.size() <= 16);
+		}
+		cache.setCapacity(4);
+		Assert.assertEquals(4, cache.size());
+		Assert.assertEquals(4, cache.getCapacity());
+
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void capacityTest() {
+		new FormatCache<String, String>(0);
+	}
+
+	@Test
+	public void fastDateFormatStatsTest() {
+		final FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH");
+		final FormatCache.Stats before = FastDateFormat.getCacheStats();
+		Assert.assertSame(format, FastDateFormat.getInstance("yyyy-MM-dd HH"));
+		final FormatCache.Stats after = FastDateFormat.getCacheStats();
+		Assert.assertEquals(before.getHitCount() + 1, after.getHitCount());
+		Assert.assertTrue(after.getSize() <= after.getCapacity());
+	}
+
+	@Test
+	public void fastDateFormatKeyTest() {
+		final TimeZone zone = TimeZone.getTimeZone("America/New_York");
+		final FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH:mm", zone, Locale.US);
+		// 值相同的不同对象命中同一实例
+		Assert.assertSame(format, FastDateFormat.getInstance(new String("yyyy-MM-dd HH:mm"), (TimeZone) zone.clone(), new Locale("en", "US")));
+		Assert.assertNotSame(format, FastDateFormat.getInstance("yyyy-MM-dd HH:mm", TimeZone.getTimeZone("UTC"), Locale.US));
+		Assert.assertNotSame(format, FastDateFormat.getInstance("yyyy-MM-dd HH:mm", zone, Locale.UK));
+	}
+
+	@Test
+	public void defaultTimeZoneTest() {
+		final FastDateFormat format = FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.S");
+		Assert.assertEquals(TimeZone.getDefault(), format.getTimeZone());
+		// 实例持有副本，不与快照共享
+		Assert.assertNotSame(DefaultTimeZone.get(), format.getTimeZone());
+		Assert.assertSame(DefaultTimeZone.get(), DefaultTimeZone.get());
+
+		final TimeZone defaultZone = TimeZone.getDefault();
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+			// 刷新后按新的默认时区获取
+			DefaultTimeZone.refresh();
+			Assert.assertEquals("America/New_York", FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.S").getTimeZone().getID());
+		} finally {
+			TimeZone.setDefault(defaultZone);
+			DefaultTimeZone.refresh();
+		}
+		Assert.assertSame(format, FastDateFormat.getInstance("yyyy-MM-dd HH:mm:ss.S"));
+	}
+}
@@ -0,0 +1,94 @@
+package core.date;
+
+import datetool.core.DatePattern;
+import datetool.core.format.HttpDateCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * HttpDateCache单元测试
+ */
+public class HttpDateCacheTest {
+
+	private final HttpDateCache cache = HttpDateCache.getInstance();
+
+	@Test
+	public void formatTest() {
+		final Random random = new Random(20230321L);
+		long millis = 1678854896789L;
+		for (int i = 0; i < 5000; i++) {
+			// 以当前附近的时间为主，间或跳到1970年之前或较远的时间
+			millis += random.nextInt(3000) - 1000;
+			if (i % 100 == 0) {
+				millis = (random.nextLong() % 9000000000000L);
+			}
+			final String expected = DatePattern.HTTP_DATETIME_FORMAT.format(millis);
+			Assert.assertEquals(expected, cache.format(millis));
+			final ByteBuffer buffer = ByteBuffer.allocate(32);
+			Assert.assertEquals(expected.length(), cache.formatTo(millis, buffer));
+			Assert.assertEquals(expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+		}
+		Assert.assertSame(cache.format(1678854896000L), cache.format(1678854896999L));
+		Assert.assertEquals("Wed, 15 Mar 2023 04:34:56 GMT", cache.format(1678854896789L));
+		Assert.assertThrows(BufferOverflowException.class, () -> cache.formatTo(0, ByteBuffer.allocate(10)));
+	}
+
+	@Test
+	public void currentTest() {
+		final long before = System.currentTimeMillis();
+		final String current = cache.current();
+		final byte[] bytes = cache.currentBytes();
+		final long after = System.currentTimeMillis();
+		Assert.assertTrue(current.equals(cache.format(before)) || current.equals(cache.format(after)));
+		final String text = new String(bytes, StandardCharsets.US_ASCII);
+		Assert.assertTrue(text.equals(cache.format(before)) || text.equals(cache.format(after)));
+	}
+
+	@Test
+	public void tickerTest() throws Exception {
+		final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+		try {
+			final ScheduledFuture<?> ticker = cache.startTicker(executor);
+			Assert.assertFalse(ticker.isDone());
+			ticker.cancel(false);
+			Assert.assertTrue(ticker.isCancelled());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void parseTest() {
+		final long expected = 784111777000L;
+		Assert.assertEquals(expected, cache.parse("Sun, 06 Nov 1994 08:49:37 GMT"));
+		Assert.assertEquals(expected, cache.parse("Sunday, 06-Nov-94 08:49:37 GMT"));
+		Assert.assertEquals(expected, cache.parse("Sun Nov  6 08:49:37 1994"));
+
+		// 与FastDateFormat的解析结果一致
+		final Random random = new Random(20230322L);
+		for (int i = 0; i < 2000; i++) {
+			final long millis = random.nextLong() % 4000000000000L / 1000 * 1000;
+			Assert.assertEquals(millis, cache.parse(cache.format(millis)));
+			Assert.assertEquals(DatePattern.HTTP_DATETIME_FORMAT.tryParse(cache.format(millis), false), cache.parse(cache.format(millis)));
+		}
+		// 早于1583年交由Calendar处理
+		Assert.assertEquals(DatePattern.HTTP_DATETIME_FORMAT.tryParse("Mon, 01 Jan 1500 00:00:00 GMT", false),
+				cache.parse("Mon, 01 Jan 1500 00:00:00 GMT"));
+
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse(null));
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse(""));
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse("Sun, 31 Feb 1994 08:49:37 GMT"));
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse("Sun, 06 Nov 1994 24:49:37 GMT"));
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse("Sun, 06 Nov 1994 08:49:3x GMT"));
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse("Sun, 06 Nov 1994 08:49:37"));
+		Assert.assertEquals(Long.MIN_VALUE, cache.parse("1994-11-06 08:49:37"));
+	}
+}
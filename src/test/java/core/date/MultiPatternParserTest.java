@@ -0,0 +1,108 @@
+package core.date;
+
+import datetool.DateUtil;
+import datetool.core.DatePattern;
+import datetool.core.format.FastDateParser;
+import datetool.core.format.MultiPatternParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.ParsePosition;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * MultiPatternParser单元测试
+ */
+public class MultiPatternParserTest {
+
+	private static final String[] PATTERNS = {
+			DatePattern.NORM_DATETIME_PATTERN, DatePattern.NORM_DATE_PATTERN, DatePattern.NORM_DATETIME_MS_PATTERN,
+			"yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd", DatePattern.PURE_DATETIME_PATTERN, DatePattern.PURE_DATE_PATTERN,
+			DatePattern.CHINESE_DATE_PATTERN, "dd MMM yyyy", "EEE, dd MMM yyyy HH:mm:ss z", "yyyy-MM-dd'T'HH:mm:ssXXX", "HH:mm"
+	};
+
+	@Test
+	public void sameAsSequentialTest() {
+		final TimeZone zone = TimeZone.getTimeZone("Asia/Shanghai");
+		final MultiPatternParser multiParser = new MultiPatternParser(zone, Locale.US, PATTERNS);
+		final FastDateParser[] parsers = new FastDateParser[PATTERNS.length];
+		for (int i = 0; i < PATTERNS.length; i++) {
+			parsers[i] = new FastDateParser(PATTERNS[i], zone, Locale.US);
+		}
+
+		final Random random = new Random(20230319L);
+		final String[] inputs = {"2023-3-5", " 2023-03-05", "2023-03-05 1:2:3", "2023/03/05", "12:30", "2023年3月5日", "5 mar 2023",
+				"Sun, 05 Mar 2023 12:30:00 GMT", "2023-03-05T12:30:00+09:00", "2023-03-05T12:30:00Z", "2023-03-05 12:30", "20230305",
+				"20230305123000", "2023-03-05 12:30:00.1", "2023-13-45", "abc", ""};
+		for (int round = 0; round < 50; round++) {
+			for (String input : inputs) {
+				final boolean lenient = random.nextBoolean();
+				Assert.assertEquals(input + "/" + lenient, sequential(parsers, input, lenient), multiParser.tryParse(input, lenient));
+			}
+		}
+	}
+
+	@Test
+	public void orderTest() {
+		final MultiPatternParser parser = new MultiPatternParser(TimeZone.getDefault(), Locale.getDefault(),
+				"yyyy-dd-MM", "yyyy/MM/dd", "yyyy-MM-dd");
+		// 后面的格式成功次数更多，但可能匹配同一输入的格式保持给定的顺序
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(DateUtil.parse("2023-05-13").getTime(), parser.tryParse("2023-05-13", false));
+			Assert.assertEquals(DateUtil.parse("2023-05-13").getTime(), parser.tryParse("2023/05/13", false));
+		}
+		Assert.assertEquals(DateUtil.parse("2023-05-03").getTime(), parser.tryParse("2023-03-05", false));
+		Assert.assertEquals(DateUtil.parse("2023-05-03").getTime(), parser.tryParse("2023-03-05", true));
+		Assert.assertEquals(Long.MIN_VALUE, parser.tryParse("2023.03.05", true));
+		Assert.assertEquals(Long.MIN_VALUE, parser.tryParse(null, true));
+	}
+
+	@Test
+	public void getInstanceTest() {
+		final String[] patterns = {DatePattern.NORM_DATE_PATTERN, DatePattern.PURE_DATE_PATTERN};
+		final MultiPatternParser parser = MultiPatternParser.getInstance(null, null, patterns);
+		Assert.assertSame(parser, MultiPatternParser.getInstance(TimeZone.getDefault(), Locale.getDefault(),
+				DatePattern.NORM_DATE_PATTERN, DatePattern.PURE_DATE_PATTERN));
+		// 修改调用方的数组不影响已缓存的实例
+		patterns[0] = DatePattern.NORM_DATETIME_PATTERN;
+		Assert.assertArrayEquals(new String[]{DatePattern.NORM_DATE_PATTERN, DatePattern.PURE_DATE_PATTERN}, parser.getPatterns());
+
+		final Calendar calendar = parser.parse("20230305", true).get();
+		Assert.assertEquals(DateUtil.parse("2023-03-05").getTime(), calendar.getTimeInMillis());
+		Assert.assertTrue(calendar.isLenient());
+		Assert.assertFalse(parser.parse("2023-02-30", false).isPresent());
+	}
+
+	@Test
+	public void cacheKeyTest() {
+		final TimeZone zone = TimeZone.getTimeZone("America/New_York");
+		final MultiPatternParser parser = MultiPatternParser.getInstance(zone, Locale.US, "yyyy-MM-dd", "yyyyMMdd");
+		// 值相同的不同对象命中同一实例
+		Assert.assertSame(parser, MultiPatternParser.getInstance((TimeZone) zone.clone(), new Locale("en", "US"),
+				new String("yyyy-MM-dd"), new String("yyyyMMdd")));
+		Assert.assertNotSame(parser, MultiPatternParser.getInstance(zone, Locale.US, "yyyyMMdd", "yyyy-MM-dd"));
+		Assert.assertNotSame(parser, MultiPatternParser.getInstance(zone, Locale.US, "yyyy-MM-dd"));
+		Assert.assertNotSame(parser, MultiPatternParser.getInstance(TimeZone.getTimeZone("UTC"), Locale.US, "yyyy-MM-dd", "yyyyMMdd"));
+		Assert.assertNotSame(parser, MultiPatternParser.getInstance(zone, Locale.UK, "yyyy-MM-dd", "yyyyMMdd"));
+	}
+
+	private static long sequential(FastDateParser[] parsers, String source, boolean lenient) {
+		for (FastDateParser parser : parsers) {
+			final Calendar calendar = Calendar.getInstance(parser.getTimeZone(), parser.getLocale());
+			calendar.clear();
+			calendar.setLenient(lenient);
+			final ParsePosition pos = new ParsePosition(0);
+			try {
+				if (parser.parse(source, pos, calendar) && pos.getIndex() == source.length()) {
+					return calendar.getTimeInMillis();
+				}
+			} catch (IllegalArgumentException ignore) {
+				// 非宽容模式下字段越界
+			}
+		}
+		return Long.MIN_VALUE;
+	}
+}
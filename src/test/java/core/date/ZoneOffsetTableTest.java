@@ -0,0 +1,105 @@
+package core.date;
+
+import datetool.DateUtil;
+import datetool.core.DateTime;
+import datetool.core.format.DateFields;
+import datetool.core.format.ZoneOffsetTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SimpleTimeZone;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ZoneOffsetTable单元测试
+ */
+public class ZoneOffsetTableTest {
+
+	@Test
+	public void sameAsCalendarTest() {
+		final Random random = new Random(20230401L);
+		for (String zoneId : TimeZone.getAvailableIDs()) {
+			final TimeZone zone = TimeZone.getTimeZone(zoneId);
+			final ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+			Assert.assertNotNull(zoneId, table);
+			final Calendar calendar = Calendar.getInstance(zone, Locale.ROOT);
+			for (int i = 0; i < 200; i++) {
+				// 1850年至2150年之间，包含表外的时间
+				final long millis = -3786825600000L + (long) (random.nextDouble() * 9467107200000L);
+				calendar.setTimeInMillis(millis);
+				Assert.assertEquals(zoneId + "/" + millis, zone.getOffset(millis), table.getOffset(millis));
+
+				final int index = table.indexOf(millis);
+				if (index >= 0) {
+					Assert.assertTrue(table.getStart(index) <= millis && millis < table.getEnd(index));
+					Assert.assertEquals(zoneId + "/" + millis, calendar.get(Calendar.DST_OFFSET), table.getDstOffset(index));
+					final DateFields fields = table.toFields(millis);
+					for (int field : new int[]{Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_MONTH, Calendar.DAY_OF_YEAR,
+							Calendar.DAY_OF_WEEK, Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.SECOND, Calendar.MILLISECOND}) {
+						Assert.assertEquals(zoneId + "/" + millis, calendar.get(field), fields.get(field));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void transitionTest() {
+		final TimeZone newYork = TimeZone.getTimeZone("America/New_York");
+		final ZoneOffsetTable table = ZoneOffsetTable.of(newYork);
+		// 2023-03-12 07:00:00Z 开始夏令时
+		final long transition = 1678604400000L;
+		final int index = table.indexOf(transition);
+		Assert.assertEquals(transition, table.getStart(index));
+		Assert.assertEquals(-4 * 3600000, table.getOffset(index));
+		Assert.assertEquals(3600000, table.getDstOffset(index));
+		Assert.assertEquals(index - 1, table.indexOf(transition - 1));
+		Assert.assertEquals(-5 * 3600000, table.getOffset(transition - 1));
+
+		// 固定偏移的时区只有一段
+		final ZoneOffsetTable utc = ZoneOffsetTable.of(TimeZone.getTimeZone("UTC"));
+		Assert.assertEquals(0, utc.indexOf(Long.MIN_VALUE));
+		Assert.assertEquals(0, utc.indexOf(Long.MAX_VALUE - 1));
+
+		// 自定义规则的时区不使用偏移表
+		Assert.assertNull(ZoneOffsetTable.of(new SimpleTimeZone(3600000, "Custom")));
+		Assert.assertSame(table, ZoneOffsetTable.of((TimeZone) newYork.clone()));
+	}
+
+	@Test
+	public void noTableCachedTest() {
+		final AtomicInteger builds = new AtomicInteger();
+		final TimeZone custom = new SimpleTimeZone(3600000, "NoTableCachedTest") {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public ZoneId toZoneId() {
+				builds.incrementAndGet();
+				return super.toZoneId();
+			}
+		};
+		Assert.assertNull(ZoneOffsetTable.of(custom));
+		Assert.assertEquals(1, builds.get());
+		// 没有偏移表的结果同样缓存，不再重复构建
+		Assert.assertNull(ZoneOffsetTable.of(custom));
+		Assert.assertNull(ZoneOffsetTable.of((TimeZone) custom.clone()));
+		Assert.assertNotNull(ZoneOffsetTable.of(TimeZone.getTimeZone("UTC")));
+		Assert.assertNull(ZoneOffsetTable.of(custom));
+		Assert.assertEquals(1, builds.get());
+	}
+
+	@Test
+	public void dateTimeGetFieldTest() {
+		final DateTime dateTime = new DateTime(DateUtil.parse("1988-04-10 02:30:00").getTime(), TimeZone.getTimeZone("America/New_York"));
+		final Calendar calendar = dateTime.toCalendar();
+		for (int field : new int[]{Calendar.ERA, Calendar.YEAR, Calendar.MONTH, Calendar.DAY_OF_MONTH, Calendar.DAY_OF_WEEK,
+				Calendar.AM_PM, Calendar.HOUR, Calendar.HOUR_OF_DAY, Calendar.MINUTE, Calendar.WEEK_OF_YEAR}) {
+			Assert.assertEquals(calendar.get(field), dateTime.getField(field));
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package datetool.core.format;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * 字节解析不经过{@link ByteSequence#toString()}
+ */
+public class ByteSequenceTest {
+	private static final TimeZone SHANGHAI = TimeZone.getTimeZone("Asia/Shanghai");
+
+	/**
+	 * 调用{@link #toString()}即失败的字节序列
+	 */
+	private static ByteSequence noString(final byte[] bytes) {
+		return new ByteSequence(bytes, null, 0, bytes.length) {
+			@Override
+			public String toString() {
+				throw new AssertionError("byte path decoded into a String");
+			}
+		};
+	}
+
+	private static void assertParse(final String pattern, final Locale locale, final String text) throws ParseException {
+		final FastDateFormat format = FastDateFormat.getInstance(pattern, SHANGHAI, locale);
+		final long expected = format.parse(text).getTime();
+		final byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+		Assert.assertEquals(text, expected, format.parse(noString(bytes)));
+		Assert.assertEquals(text, expected, new FastDateParser(pattern, SHANGHAI, locale).parse(noString(bytes)));
+	}
+
+	@Test
+	public void parseWithoutStringTest() throws ParseException {
+		// 定长格式
+		assertParse("yyyy-MM-dd HH:mm:ss", Locale.US, "2023-07-04 05:06:07");
+		// 变长数字
+		assertParse("yyyy/M/d H:m:s", Locale.US, "2023/7/4 5:6:7");
+		// 文本字段
+		assertParse("EEE, dd MMM yyyy HH:mm:ss", Locale.US, "Tue, 04 Jul 2023 05:06:07");
+		assertParse("dd MMM yyyy", Locale.US, "04 jul 2023");
+	}
+
+	@Test
+	public void decodeTest() {
+		final ByteSequence ascii = ByteSequence.of("2023-07-04".getBytes(StandardCharsets.US_ASCII), 0, 10);
+		Assert.assertSame(ascii, ascii.decode());
+
+		final byte[] chinese = "2023年07月04日".getBytes(StandardCharsets.UTF_8);
+		Assert.assertEquals("2023年07月04日", ByteSequence.of(chinese, 0, chinese.length).decode());
+		Assert.assertEquals("2023年07月04日", ByteSequence.of(ByteBuffer.wrap(chinese), 0, chinese.length).decode());
+
+		Assert.assertEquals("07", ByteSequence.of("2023-07-04".getBytes(StandardCharsets.US_ASCII), 0, 10).subSequence(5, 7).toString());
+	}
+}